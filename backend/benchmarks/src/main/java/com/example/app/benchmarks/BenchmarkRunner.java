@@ -0,0 +1,35 @@
+package com.example.app.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code benchmarks.jar}.
+ *
+ * Runs the selected benchmarks (all by default) with the GC profiler and writes JSON
+ * results to {@code target/jmh-result.json}: ops/s, {@code gc.alloc.rate} (MB/s) and
+ * {@code gc.alloc.rate.norm} (bytes per operation) for every benchmark. Standard JMH
+ * command line options are accepted and override these defaults, e.g.
+ * {@code java -jar target/benchmarks.jar Suggestion -p catalogSize=10000}.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result.json")
+                .build();
+        new Runner(options).run();
+    }
+}
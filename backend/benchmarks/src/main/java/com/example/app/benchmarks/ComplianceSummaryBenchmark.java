@@ -0,0 +1,41 @@
+package com.example.app.benchmarks;
+
+import com.example.app.models.FoodClassificationsEmbedded;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compliance summary string for a fully classified food.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ComplianceSummaryBenchmark {
+
+    private FoodClassificationsEmbedded classifications;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        classifications = Fixtures.classifications(new Random(42));
+    }
+
+    @Benchmark
+    public String getComplianceSummary() {
+        return classifications.getComplianceSummary();
+    }
+}
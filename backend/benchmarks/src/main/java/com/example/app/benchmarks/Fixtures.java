@@ -0,0 +1,125 @@
+package com.example.app.benchmarks;
+
+import com.example.app.catalog.FoodCatalog;
+import com.example.app.models.ClassificationWithCodes;
+import com.example.app.models.FoodClassificationsEmbedded;
+import com.example.app.models.FoodEmbeddedCodes;
+import com.example.app.repositories.FoodEmbeddedCodesRepository;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic data and wiring for benchmarks, without a Spring context or MongoDB.
+ */
+final class Fixtures {
+
+    private static final String[] CATEGORIES = {
+        "Fruit", "Vegetables", "Dairy products", "Grain products", "Meat", "Fish", "Cereals", "Sweets"
+    };
+    private static final String[] SOURCES = {
+        "Apple", "Banana", "Carrot", "Potato", "Cow", "Chicken", "Salmon", "Wheat", "Rice", "Pig"
+    };
+    private static final String[] WORDS = {
+        "apple", "banana", "pasta", "rice", "chicken", "cheese", "bread", "yogurt", "milk", "kött",
+        "nötkött", "fläsk", "potatis", "morot", "lax", "soup", "boiled", "fried", "raw", "dried"
+    };
+
+    private Fixtures() {
+    }
+
+    /**
+     * A catalog of {@code size} foods, half English and half Swedish, with classifications.
+     * The same seed always gives the same catalog.
+     */
+    static List<FoodEmbeddedCodes> foods(int size, long seed) {
+        Random random = new Random(seed);
+        List<FoodEmbeddedCodes> foods = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            FoodEmbeddedCodes food = new FoodEmbeddedCodes();
+            food.setId("food-" + i);
+            food.setFoodNumber(i / 2 + 1);
+            food.setLanguage(i % 2 == 0 ? "en" : "sv");
+            food.setName(word(random) + " " + word(random) + (random.nextBoolean() ? " " + word(random) : ""));
+            food.setAltName(random.nextInt(4) == 0 ? word(random) : null);
+            food.setFoodCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            food.setImageUrl("/image/" + i + ".jpg");
+            food.setClassifications(classifications(random));
+            food.refreshDerivedFields();
+            foods.add(food);
+        }
+        return foods;
+    }
+
+    static FoodClassificationsEmbedded classifications(Random random) {
+        FoodClassificationsEmbedded classifications = new FoodClassificationsEmbedded();
+        classifications.setFoodex2("A0" + (100 + random.nextInt(900)));
+        classifications.setProductType(classification(random, "Food product"));
+        classifications.setFoodSource(classification(random, SOURCES[random.nextInt(SOURCES.length)]));
+        classifications.setPartUsed(classification(random, "Whole"));
+        classifications.setPhysicalState(classification(random, "Solid"));
+        classifications.setHeatTreatment(classification(random, random.nextBoolean() ? "Cooked" : "Raw"));
+        classifications.setPreservation(classification(random, "Refrigerated"));
+        classifications.setPackingMedium(random.nextBoolean() ? classification(random, "No packing medium") : null);
+        classifications.setConsumerGroup(classification(random, "Human food"));
+        classifications.setCookingMethod(random.nextBoolean() ? classification(random, "Boiled") : null);
+        return classifications;
+    }
+
+    private static ClassificationWithCodes classification(Random random, String name) {
+        String langualId = "A0" + (100 + random.nextInt(900));
+        return new ClassificationWithCodes(name, langualId + ", A0" + (100 + random.nextInt(900)), langualId);
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    /**
+     * A loaded {@link FoodCatalog} over the given foods.
+     */
+    static FoodCatalog catalog(List<FoodEmbeddedCodes> foods) {
+        FoodEmbeddedCodesRepository repository = (FoodEmbeddedCodesRepository) Proxy.newProxyInstance(
+            FoodEmbeddedCodesRepository.class.getClassLoader(),
+            new Class<?>[] {FoodEmbeddedCodesRepository.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("findAll") && method.getParameterCount() == 0) {
+                    return foods;
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+        FoodCatalog catalog = new FoodCatalog(repository);
+        catalog.refresh();
+        return catalog;
+    }
+
+    /**
+     * Set a field that Spring would inject.
+     */
+    static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + fieldName, e);
+        }
+    }
+
+    /**
+     * Call a no-argument lifecycle method such as a {@code @PostConstruct} initializer.
+     */
+    static void invoke(Object target, String methodName) {
+        try {
+            Method method = target.getClass().getDeclaredMethod(methodName);
+            method.setAccessible(true);
+            method.invoke(target);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot call " + methodName, e);
+        }
+    }
+}
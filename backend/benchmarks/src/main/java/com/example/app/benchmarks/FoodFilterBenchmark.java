@@ -0,0 +1,61 @@
+package com.example.app.benchmarks;
+
+import com.example.app.catalog.FoodCatalogSnapshot;
+import com.example.app.catalog.FoodFilter;
+import com.example.app.catalog.FoodFilterIndex;
+import com.example.app.catalog.FoodFilterIndex.Facet;
+import com.example.app.models.FoodEmbeddedCodes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multi-facet filtering and paging on the bitmap index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FoodFilterBenchmark {
+
+    @Param({"10000", "100000"})
+    public int catalogSize;
+
+    private FoodFilterIndex index;
+    private FoodFilter filter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FoodCatalogSnapshot snapshot = FoodCatalogSnapshot.of(1L, Fixtures.foods(catalogSize, 42));
+        index = FoodFilterIndex.build(snapshot);
+        filter = new FoodFilter()
+            .include(Facet.HEAT_TREATMENT, "Cooked")
+            .include(Facet.FOOD_SOURCE, "Potato", "Carrot", "Rice")
+            .exclude(Facet.PRESERVATION, "Frozen")
+            .languages("en");
+    }
+
+    @Benchmark
+    public List<FoodEmbeddedCodes> filterFirstPage() {
+        return index.page(index.match(filter), 0, 20);
+    }
+
+    @Benchmark
+    public int countMatches() {
+        return index.match(filter).cardinality();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.app.benchmarks;
+
+import com.example.app.models.FoodEmbeddedCodes;
+import com.example.app.services.FoodService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Name search through {@link FoodService} against the in-memory search index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FoodSearchBenchmark {
+
+    @Param({"10000"})
+    private int catalogSize;
+
+    // Exact word, prefix, infix inside a compound and a two-word query
+    @Param({"banana", "chick", "kott", "boiled rice"})
+    private String query;
+
+    private FoodService foodService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        foodService = new FoodService();
+        Fixtures.inject(foodService, "foodCatalog", Fixtures.catalog(Fixtures.foods(catalogSize, 42)));
+        // Build the search index outside the measurement
+        foodService.searchFoodsByName("warmup");
+    }
+
+    @Benchmark
+    public List<FoodEmbeddedCodes> searchFoodsByName() {
+        return foodService.searchFoodsByName(query);
+    }
+
+    @Benchmark
+    public List<FoodEmbeddedCodes> typeahead() {
+        return foodService.typeahead(query, null, 10);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.app.benchmarks;
+
+import com.example.app.models.User;
+import com.example.app.security.CustomUserDetailsService;
+import com.example.app.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access token generation and validation, with and without the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        Fixtures.inject(jwtUtil, "accessSecret", "benchmark-256-bit-secret-for-access-tokens-make-it-long-enough");
+        Fixtures.inject(jwtUtil, "refreshSecret", "benchmark-256-bit-secret-for-refresh-tokens-make-it-different");
+        Fixtures.inject(jwtUtil, "accessTokenTtl", 900L);
+        Fixtures.inject(jwtUtil, "refreshTokenTtl", 604800L);
+        Fixtures.inject(jwtUtil, "verifiedCacheSize", 10000L);
+        Fixtures.invoke(jwtUtil, "init");
+
+        User user = new User("parent@example.com", "Parent", "hash", List.of("PARENT"));
+        user.setId("user-1");
+        userDetails = new CustomUserDetailsService.CustomUserPrincipal(user);
+        token = jwtUtil.generateAccessToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtUtil.generateAccessToken(userDetails);
+    }
+
+    @Benchmark
+    public Optional<Claims> parseAccessTokenCached() {
+        return jwtUtil.parseAccessToken(token);
+    }
+
+    @Benchmark
+    public String verifyAccessTokenUncached() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public Boolean validateAccessToken() {
+        return jwtUtil.validateAccessToken(token, userDetails);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.app.benchmarks;
+
+import com.example.app.catalog.FoodCatalog;
+import com.example.app.models.FoodEmbeddedCodes;
+import com.example.app.models.FoodSuggestion;
+import com.example.app.services.FoodSuggestionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uncached suggestion generation over synthetic catalogs of increasing size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SuggestionBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int catalogSize;
+
+    @Param({"10"})
+    private int maxSuggestions;
+
+    private FoodSuggestionService suggestionService;
+    private List<Integer> likedFoodNumbers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<FoodEmbeddedCodes> foods = Fixtures.foods(catalogSize, 42);
+        FoodCatalog catalog = Fixtures.catalog(foods);
+
+        suggestionService = new FoodSuggestionService();
+        Fixtures.inject(suggestionService, "foodCatalog", catalog);
+        // Build the feature index outside the measurement
+        suggestionService.generateSuggestions(List.of(1), maxSuggestions);
+
+        Random random = new Random(7);
+        likedFoodNumbers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            likedFoodNumbers.add(1 + random.nextInt(catalogSize / 2));
+        }
+    }
+
+    @Benchmark
+    public List<FoodSuggestion> generateSuggestions() {
+        return suggestionService.generateSuggestions(likedFoodNumbers, maxSuggestions);
+    }
+
+    @Benchmark
+    public List<FoodSuggestion> popularSuggestions() {
+        return suggestionService.getPopularFoodSuggestions(maxSuggestions);
+    }
+}
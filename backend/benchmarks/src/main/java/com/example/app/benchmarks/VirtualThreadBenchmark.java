@@ -0,0 +1,117 @@
+package com.example.app.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrency ceiling of blocking request handling with a slow database.
+ *
+ * Each operation is a burst of {@code concurrency} simultaneous requests; every request
+ * takes a connection from a pool of {@code poolSize} and blocks for {@code dbLatencyMillis},
+ * like a controller waiting on a slow MongoDB query. Requests run on Tomcat's default 200
+ * platform worker threads or on one virtual thread each. With the driver's default pool
+ * of 100 both are capped by the pool; with a larger pool only virtual threads use it.
+ * {@code virtualPinned} blocks inside {@code synchronized}, which pins the virtual thread
+ * to its carrier and brings the ceiling down to the number of CPU cores.
+ * Reported as milliseconds per burst.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VirtualThreadBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"200", "1000", "5000"})
+    public int concurrency;
+
+    @Param({"100", "500"})
+    public int poolSize;
+
+    @Param({"20"})
+    public long dbLatencyMillis;
+
+    private ExecutorService platformExecutor;
+    private ExecutorService virtualExecutor;
+    private Semaphore connectionPool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        platformExecutor = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        virtualExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        connectionPool = new Semaphore(poolSize, true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        platformExecutor.shutdownNow();
+        virtualExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public int platformThreads() throws Exception {
+        return burst(platformExecutor, this::query);
+    }
+
+    @Benchmark
+    public int virtualThreads() throws Exception {
+        return burst(virtualExecutor, this::query);
+    }
+
+    @Benchmark
+    public int virtualPinned() throws Exception {
+        return burst(virtualExecutor, () -> {
+            // Blocking while holding a monitor pins the carrier
+            synchronized (new Object()) {
+                query();
+            }
+        });
+    }
+
+    private int burst(ExecutorService executor, Runnable request) throws InterruptedException, ExecutionException {
+        List<Future<?>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(executor.submit(request));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return futures.size();
+    }
+
+    private void query() {
+        try {
+            connectionPool.acquire();
+            try {
+                Thread.sleep(dbLatencyMillis);
+            } finally {
+                connectionPool.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
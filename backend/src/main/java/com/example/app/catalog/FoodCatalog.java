@@ -0,0 +1,105 @@
+package com.example.app.catalog;
+
+import com.example.app.models.FoodEmbeddedCodes;
+import com.example.app.repositories.FoodEmbeddedCodesRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory catalog of all foods in foods_embedded_codes.
+ *
+ * The catalog is loaded at startup and reloaded periodically. Each load builds a new
+ * {@link FoodCatalogSnapshot} which replaces the previous one atomically, so readers
+ * always see one consistent version and never wait for a refresh in progress.
+ */
+@Component
+public class FoodCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(FoodCatalog.class);
+
+    private final FoodEmbeddedCodesRepository foodRepository;
+    private final AtomicReference<FoodCatalogSnapshot> current = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    @Autowired
+    public FoodCatalog(FoodEmbeddedCodesRepository foodRepository) {
+        this.foodRepository = foodRepository;
+    }
+
+    /**
+     * Get the current snapshot, loading it on first use.
+     */
+    public FoodCatalogSnapshot current() {
+        FoodCatalogSnapshot snapshot = current.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        refreshLock.lock();
+        try {
+            snapshot = current.get();
+            return snapshot != null ? snapshot : refresh();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Reload the catalog from MongoDB and publish it as a new version.
+     */
+    public FoodCatalogSnapshot refresh() {
+        refreshLock.lock();
+        try {
+            long start = System.nanoTime();
+            List<FoodEmbeddedCodes> foods = foodRepository.findAll();
+            FoodCatalogSnapshot snapshot = FoodCatalogSnapshot.of(versions.incrementAndGet(), foods);
+            current.set(snapshot);
+
+            logger.info("Loaded food catalog version {} with {} foods in {} ms",
+                snapshot.getVersion(), snapshot.size(), (System.nanoTime() - start) / 1_000_000);
+            return snapshot;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Version of the current snapshot, or 0 if nothing has been loaded yet.
+     */
+    public long getVersion() {
+        FoodCatalogSnapshot snapshot = current.get();
+        return snapshot != null ? snapshot.getVersion() : 0L;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            // Retried lazily on first read and by the scheduled refresh
+            logger.warn("Could not load food catalog at startup: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalog.refresh-interval-ms:300000}",
+               initialDelayString = "${app.catalog.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            // Keep serving the previous snapshot
+            logger.warn("Food catalog refresh failed, keeping version {}: {}", getVersion(), e.getMessage());
+        }
+    }
+}
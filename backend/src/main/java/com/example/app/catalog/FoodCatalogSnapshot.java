@@ -0,0 +1,234 @@
+package com.example.app.catalog;
+
+import com.example.app.models.ClassificationWithCodes;
+import com.example.app.models.FoodEmbeddedCodes;
+import com.example.app.models.FoodSourceKind;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Immutable, versioned view of the foods_embedded_codes collection.
+ *
+ * A snapshot is built once from the full collection and never modified afterwards,
+ * so it can be shared freely between request threads. The food documents themselves
+ * are shared with callers and must be treated as read-only.
+ */
+public final class FoodCatalogSnapshot {
+
+    /**
+     * Primary key of a catalog entry: one document per food number and language.
+     */
+    public record Key(Integer foodNumber, String language) {}
+
+    private final long version;
+    private final Instant loadedAt;
+    private final List<FoodEmbeddedCodes> foods;
+
+    // Primary index
+    private final Map<Key, FoodEmbeddedCodes> byKey;
+    private final Map<Integer, List<FoodEmbeddedCodes>> byFoodNumber;
+
+    // Secondary indexes
+    private final Map<String, List<FoodEmbeddedCodes>> byLanguage;
+    private final Map<String, List<FoodEmbeddedCodes>> byCategory;
+    private final Map<String, List<FoodEmbeddedCodes>> byFoodSource;
+    private final Map<String, List<FoodEmbeddedCodes>> byLangualId;
+    private final Map<FoodSourceKind, List<FoodEmbeddedCodes>> bySourceKind;
+    private final List<FoodEmbeddedCodes> animalFoods;
+    private final List<FoodEmbeddedCodes> plantFoods;
+    private final List<String> categories;
+
+    // Structures derived from this snapshot (search index etc.), built on first use
+    private final ConcurrentMap<Class<?>, Object> derived = new ConcurrentHashMap<>();
+
+    private FoodCatalogSnapshot(long version, List<FoodEmbeddedCodes> foods) {
+        this.version = version;
+        this.loadedAt = Instant.now();
+        this.foods = List.copyOf(foods);
+
+        Map<Key, FoodEmbeddedCodes> keys = new HashMap<>();
+        Map<Integer, List<FoodEmbeddedCodes>> numbers = new HashMap<>();
+        Map<String, List<FoodEmbeddedCodes>> languages = new HashMap<>();
+        Map<String, List<FoodEmbeddedCodes>> categoryIndex = new HashMap<>();
+        Map<String, List<FoodEmbeddedCodes>> sources = new HashMap<>();
+        Map<String, List<FoodEmbeddedCodes>> langualIds = new HashMap<>();
+        Map<FoodSourceKind, List<FoodEmbeddedCodes>> kinds = new EnumMap<>(FoodSourceKind.class);
+        List<FoodEmbeddedCodes> animal = new ArrayList<>();
+        List<FoodEmbeddedCodes> plant = new ArrayList<>();
+        TreeSet<String> categoryNames = new TreeSet<>();
+
+        for (FoodEmbeddedCodes food : this.foods) {
+            if (food.getFoodNumber() != null) {
+                keys.putIfAbsent(new Key(food.getFoodNumber(), food.getLanguage()), food);
+                append(numbers, food.getFoodNumber(), food);
+            }
+            if (food.getLanguage() != null) {
+                append(languages, food.getLanguage(), food);
+            }
+            if (food.getFoodCategory() != null) {
+                append(categoryIndex, food.getFoodCategory(), food);
+                categoryNames.add(food.getFoodCategory());
+            }
+            if (food.getClassifications() != null) {
+                ClassificationWithCodes source = food.getClassifications().getFoodSource();
+                if (source != null && source.getName() != null) {
+                    append(sources, normalize(source.getName()), food);
+                }
+                for (String langualId : food.getAllLangualIds()) {
+                    append(langualIds, langualId, food);
+                }
+            }
+            FoodSourceKind kind = food.getSourceKind();
+            append(kinds, kind, food);
+            if (kind.isAnimal()) {
+                animal.add(food);
+            }
+            if (kind.isPlant()) {
+                plant.add(food);
+            }
+        }
+
+        this.byKey = Map.copyOf(keys);
+        this.byFoodNumber = freeze(numbers);
+        this.byLanguage = freeze(languages);
+        this.byCategory = freeze(categoryIndex);
+        this.byFoodSource = freeze(sources);
+        this.byLangualId = freeze(langualIds);
+        this.bySourceKind = freeze(kinds);
+        this.animalFoods = List.copyOf(animal);
+        this.plantFoods = List.copyOf(plant);
+        this.categories = List.copyOf(categoryNames);
+    }
+
+    /**
+     * Build a snapshot over the given foods.
+     */
+    public static FoodCatalogSnapshot of(long version, List<FoodEmbeddedCodes> foods) {
+        return new FoodCatalogSnapshot(version, foods);
+    }
+
+    public long getVersion() { return version; }
+
+    public Instant getLoadedAt() { return loadedAt; }
+
+    public int size() { return foods.size(); }
+
+    /**
+     * All foods in collection order.
+     */
+    public List<FoodEmbeddedCodes> getFoods() { return foods; }
+
+    /**
+     * Primary-key lookup by foodNumber + language.
+     */
+    public Optional<FoodEmbeddedCodes> get(Integer foodNumber, String language) {
+        return Optional.ofNullable(byKey.get(new Key(foodNumber, language)));
+    }
+
+    /**
+     * All language variants of a food number.
+     */
+    public List<FoodEmbeddedCodes> getByFoodNumber(Integer foodNumber) {
+        return byFoodNumber.getOrDefault(foodNumber, List.of());
+    }
+
+    /**
+     * All language variants for a set of food numbers, in request order.
+     */
+    public List<FoodEmbeddedCodes> getByFoodNumbers(Collection<Integer> foodNumbers) {
+        List<FoodEmbeddedCodes> result = new ArrayList<>();
+        for (Integer foodNumber : new LinkedHashSet<>(foodNumbers)) {
+            result.addAll(getByFoodNumber(foodNumber));
+        }
+        return result;
+    }
+
+    public List<FoodEmbeddedCodes> getByLanguage(String language) {
+        return byLanguage.getOrDefault(language, List.of());
+    }
+
+    public List<FoodEmbeddedCodes> getByCategory(String category) {
+        return byCategory.getOrDefault(category, List.of());
+    }
+
+    /**
+     * Foods by food source classification name (case insensitive).
+     */
+    public List<FoodEmbeddedCodes> getByFoodSource(String foodSource) {
+        return foodSource == null ? List.of() : byFoodSource.getOrDefault(normalize(foodSource), List.of());
+    }
+
+    /**
+     * Foods carrying the given LanguaL ID in any classification.
+     */
+    public List<FoodEmbeddedCodes> getByLangualId(String langualId) {
+        return byLangualId.getOrDefault(langualId, List.of());
+    }
+
+    public List<FoodEmbeddedCodes> getBySourceKind(FoodSourceKind kind) {
+        return bySourceKind.getOrDefault(kind, List.of());
+    }
+
+    /**
+     * Foods of animal origin, including mixed-source foods.
+     */
+    public List<FoodEmbeddedCodes> getAnimalFoods() { return animalFoods; }
+
+    /**
+     * Plant-based foods, including mixed-source foods.
+     */
+    public List<FoodEmbeddedCodes> getPlantFoods() { return plantFoods; }
+
+    /**
+     * Distinct food categories, sorted.
+     */
+    public List<String> getCategories() { return categories; }
+
+    /**
+     * Get (or build once) a structure derived from this snapshot.
+     * Derived structures share the snapshot's lifetime, so they are replaced
+     * automatically when the catalog is refreshed.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T derived(Class<T> type, Function<FoodCatalogSnapshot, T> builder) {
+        Object existing = derived.get(type);
+        if (existing == null) {
+            // Built outside the map so one derived structure may depend on another
+            Object built = builder.apply(this);
+            existing = derived.putIfAbsent(type, built);
+            if (existing == null) {
+                existing = built;
+            }
+        }
+        return (T) existing;
+    }
+
+    private static <K> void append(Map<K, List<FoodEmbeddedCodes>> index, K key, FoodEmbeddedCodes food) {
+        index.computeIfAbsent(key, k -> new ArrayList<>()).add(food);
+    }
+
+    private static <K> Map<K, List<FoodEmbeddedCodes>> freeze(Map<K, List<FoodEmbeddedCodes>> index) {
+        Map<K, List<FoodEmbeddedCodes>> frozen = new LinkedHashMap<>();
+        index.forEach((key, value) -> frozen.put(key, List.copyOf(value)));
+        return Collections.unmodifiableMap(frozen);
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
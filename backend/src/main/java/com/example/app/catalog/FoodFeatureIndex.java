@@ -0,0 +1,197 @@
+package com.example.app.catalog;
+
+import com.example.app.models.FoodEmbeddedCodes;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Precomputed suggestion features for every food in a catalog snapshot.
+ *
+ * Each food is reduced to a category ordinal, plant/animal source flags and a bitset
+ * of characteristic tags over a fixed tag dictionary, so similarity scoring is a few
+ * integer comparisons and a popcount instead of string matching per request.
+ */
+public final class FoodFeatureIndex {
+
+    /**
+     * Tag dictionary. Bit {@code i} of a food's tag set means {@code TAGS.get(i)};
+     * the order is the order tags are shown to users.
+     */
+    public static final List<String> TAGS = List.of(
+        "Sweet", "Healthy", "Creamy", "Mild", "Protein", "Plant-based", "Protein-rich", "Kid-friendly");
+
+    private static final long SWEET = 1L;
+    private static final long HEALTHY = 1L << 1;
+    private static final long CREAMY = 1L << 2;
+    private static final long MILD = 1L << 3;
+    private static final long PROTEIN = 1L << 4;
+    private static final long PLANT_BASED = 1L << 5;
+    private static final long PROTEIN_RICH = 1L << 6;
+    private static final long KID_FRIENDLY = 1L << 7;
+
+    private final List<FoodEmbeddedCodes> foods;
+    private final List<String> categories;
+    private final int[] categoryOrdinals;
+    private final boolean[] plantBased;
+    private final boolean[] animalBased;
+    private final long[] tagBits;
+    private final List<List<String>> tagLists;
+    private final Map<String, int[]> ordinalsByLanguage;
+    private final Map<Integer, int[]> ordinalsByFoodNumber;
+
+    private FoodFeatureIndex(FoodCatalogSnapshot snapshot) {
+        this.foods = snapshot.getFoods();
+        int size = foods.size();
+        this.categoryOrdinals = new int[size];
+        this.plantBased = new boolean[size];
+        this.animalBased = new boolean[size];
+        this.tagBits = new long[size];
+
+        Map<String, Integer> categoryIds = new HashMap<>();
+        List<String> categoryNames = new ArrayList<>();
+        Map<List<String>, List<String>> internedTags = new HashMap<>();
+        List<List<String>> tags = new ArrayList<>(size);
+        Map<String, List<Integer>> languages = new HashMap<>();
+        Map<Integer, List<Integer>> numbers = new HashMap<>();
+
+        for (int doc = 0; doc < size; doc++) {
+            FoodEmbeddedCodes food = foods.get(doc);
+            String category = food.getFoodCategory();
+            if (category != null) {
+                categoryOrdinals[doc] = categoryIds.computeIfAbsent(category, c -> {
+                    categoryNames.add(c);
+                    return categoryNames.size() - 1;
+                });
+            } else {
+                categoryOrdinals[doc] = -1;
+            }
+            plantBased[doc] = food.isPlantBased();
+            animalBased[doc] = food.isAnimalBased();
+            tagBits[doc] = extractTags(food, plantBased[doc], animalBased[doc]);
+
+            List<String> tagList = decode(tagBits[doc]);
+            tags.add(internedTags.computeIfAbsent(tagList, t -> t));
+
+            if (food.getLanguage() != null) {
+                languages.computeIfAbsent(food.getLanguage(), l -> new ArrayList<>()).add(doc);
+            }
+            if (food.getFoodNumber() != null) {
+                numbers.computeIfAbsent(food.getFoodNumber(), n -> new ArrayList<>()).add(doc);
+            }
+        }
+
+        this.categories = List.copyOf(categoryNames);
+        this.tagLists = List.copyOf(tags);
+        this.ordinalsByLanguage = toArrays(languages);
+        this.ordinalsByFoodNumber = toArrays(numbers);
+    }
+
+    /**
+     * Build the feature index for a snapshot.
+     */
+    public static FoodFeatureIndex build(FoodCatalogSnapshot snapshot) {
+        return new FoodFeatureIndex(snapshot);
+    }
+
+    public int size() { return foods.size(); }
+
+    public int categoryCount() { return categories.size(); }
+
+    public FoodEmbeddedCodes food(int doc) { return foods.get(doc); }
+
+    /**
+     * Category ordinal of a food, or -1 when it has no category.
+     */
+    public int categoryOrdinal(int doc) { return categoryOrdinals[doc]; }
+
+    public boolean isPlantBased(int doc) { return plantBased[doc]; }
+
+    public boolean isAnimalBased(int doc) { return animalBased[doc]; }
+
+    public long tagBits(int doc) { return tagBits[doc]; }
+
+    public boolean isChildFriendly(int doc) { return (tagBits[doc] & KID_FRIENDLY) != 0; }
+
+    /**
+     * Tags of a food as display strings (shared, immutable).
+     */
+    public List<String> tags(int doc) { return tagLists.get(doc); }
+
+    /**
+     * Ordinals of all foods in a language, in catalog order.
+     */
+    public int[] ordinalsForLanguage(String language) {
+        return ordinalsByLanguage.getOrDefault(language, new int[0]);
+    }
+
+    /**
+     * Ordinals of all language variants of the given food numbers.
+     */
+    public int[] ordinalsForFoodNumbers(Collection<Integer> foodNumbers) {
+        List<Integer> result = new ArrayList<>();
+        for (Integer foodNumber : new LinkedHashSet<>(foodNumbers)) {
+            for (int doc : ordinalsByFoodNumber.getOrDefault(foodNumber, new int[0])) {
+                result.add(doc);
+            }
+        }
+        return result.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Tag bitset rules. Category tags come first, then source and child-friendliness.
+     */
+    private static long extractTags(FoodEmbeddedCodes food, boolean plant, boolean animal) {
+        long bits = 0;
+
+        String category = food.getFoodCategory() != null ? food.getFoodCategory().toLowerCase(Locale.ROOT) : null;
+        if (category != null) {
+            if (category.contains("fruit")) bits |= SWEET;
+            if (category.contains("vegetable")) bits |= HEALTHY;
+            if (category.contains("dairy")) bits |= CREAMY;
+            if (category.contains("grain")) bits |= MILD;
+            if (category.contains("meat")) bits |= PROTEIN;
+        }
+
+        if (plant) bits |= PLANT_BASED;
+        if (animal) bits |= PROTEIN_RICH;
+        if (isChildFriendly(food, category != null ? category : "")) bits |= KID_FRIENDLY;
+
+        return bits;
+    }
+
+    /**
+     * Check if a food is typically child-friendly.
+     */
+    private static boolean isChildFriendly(FoodEmbeddedCodes food, String category) {
+        String name = food.getName() != null ? food.getName().toLowerCase(Locale.ROOT) : "";
+
+        // Positive indicators for child-friendly foods
+        return name.contains("apple") || name.contains("banana") || name.contains("pasta") ||
+               name.contains("rice") || name.contains("chicken") || name.contains("cheese") ||
+               name.contains("bread") || name.contains("yogurt") || name.contains("milk") ||
+               category.contains("fruit") || category.contains("dairy") ||
+               (category.contains("cereal") && !name.contains("spice"));
+    }
+
+    private static List<String> decode(long bits) {
+        List<String> result = new ArrayList<>(Long.bitCount(bits));
+        for (int i = 0; i < TAGS.size(); i++) {
+            if ((bits & (1L << i)) != 0) {
+                result.add(TAGS.get(i));
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    private static <K> Map<K, int[]> toArrays(Map<K, List<Integer>> source) {
+        Map<K, int[]> result = new HashMap<>();
+        source.forEach((key, value) -> result.put(key, value.stream().mapToInt(Integer::intValue).toArray()));
+        return result;
+    }
+}
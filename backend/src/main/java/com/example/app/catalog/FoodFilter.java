@@ -0,0 +1,72 @@
+package com.example.app.catalog;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A combination of facet conditions for {@link FoodFilterIndex}.
+ *
+ * Values of one facet are alternatives (OR); different facets, categories and
+ * languages must all match (AND). Excluded values (NOT) remove foods having them.
+ * Values are matched case-insensitively.
+ */
+public final class FoodFilter {
+
+    private final Map<FoodFilterIndex.Facet, Set<String>> included = new EnumMap<>(FoodFilterIndex.Facet.class);
+    private final Map<FoodFilterIndex.Facet, Set<String>> excluded = new EnumMap<>(FoodFilterIndex.Facet.class);
+    private final Set<String> categories = new LinkedHashSet<>();
+    private final Set<String> languages = new LinkedHashSet<>();
+
+    /**
+     * Require one of the given values for a facet.
+     */
+    public FoodFilter include(FoodFilterIndex.Facet facet, String... values) {
+        included.computeIfAbsent(facet, f -> new LinkedHashSet<>()).addAll(normalize(values));
+        return this;
+    }
+
+    /**
+     * Reject foods having any of the given values for a facet.
+     */
+    public FoodFilter exclude(FoodFilterIndex.Facet facet, String... values) {
+        excluded.computeIfAbsent(facet, f -> new LinkedHashSet<>()).addAll(normalize(values));
+        return this;
+    }
+
+    /**
+     * Require one of the given food categories.
+     */
+    public FoodFilter categories(String... values) {
+        categories.addAll(normalize(values));
+        return this;
+    }
+
+    /**
+     * Require one of the given languages.
+     */
+    public FoodFilter languages(String... values) {
+        languages.addAll(normalize(values));
+        return this;
+    }
+
+    Map<FoodFilterIndex.Facet, Set<String>> getIncluded() { return included; }
+
+    Map<FoodFilterIndex.Facet, Set<String>> getExcluded() { return excluded; }
+
+    Set<String> getCategories() { return categories; }
+
+    Set<String> getLanguages() { return languages; }
+
+    static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> normalize(String... values) {
+        return Arrays.stream(values).map(FoodFilter::normalize).toList();
+    }
+}
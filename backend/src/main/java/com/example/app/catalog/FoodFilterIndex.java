@@ -0,0 +1,191 @@
+package com.example.app.catalog;
+
+import com.example.app.models.ClassificationWithCodes;
+import com.example.app.models.FoodClassificationsEmbedded;
+import com.example.app.models.FoodEmbeddedCodes;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Bitmap index over the classification facets of a catalog snapshot.
+ *
+ * A food's ordinal is its position in {@link FoodCatalogSnapshot#getFoods()}. Every
+ * facet value, category and language has a bitmap of the ordinals of the foods having
+ * it, so any AND/OR/NOT combination is a handful of word-wise bitmap operations, and
+ * pages are read off the result in catalog order without touching MongoDB. Facet counts
+ * are the bitmaps' cardinalities, so they always agree with what a filter matches.
+ */
+public final class FoodFilterIndex {
+
+    /**
+     * Filterable classification facets, with their request parameter names.
+     */
+    public enum Facet {
+        PHYSICAL_STATE("physicalState", FoodClassificationsEmbedded::getPhysicalState),
+        HEAT_TREATMENT("heatTreatment", FoodClassificationsEmbedded::getHeatTreatment),
+        PRESERVATION("preservation", FoodClassificationsEmbedded::getPreservation),
+        GEOGRAPHIC_ORIGIN("geographicOrigin", FoodClassificationsEmbedded::getGeographicOrigin),
+        PRODUCT_TYPE("productType", FoodClassificationsEmbedded::getProductType),
+        FOOD_SOURCE("foodSource", FoodClassificationsEmbedded::getFoodSource);
+
+        private final String parameter;
+        private final Function<FoodClassificationsEmbedded, ClassificationWithCodes> accessor;
+
+        Facet(String parameter, Function<FoodClassificationsEmbedded, ClassificationWithCodes> accessor) {
+            this.parameter = parameter;
+            this.accessor = accessor;
+        }
+
+        public String getParameter() { return parameter; }
+
+        String valueOf(FoodEmbeddedCodes food) {
+            FoodClassificationsEmbedded classifications = food.getClassifications();
+            ClassificationWithCodes classification = classifications != null ? accessor.apply(classifications) : null;
+            return classification != null ? classification.getName() : null;
+        }
+    }
+
+    private static final BitSet EMPTY = new BitSet();
+
+    private final List<FoodEmbeddedCodes> foods;
+    private final BitSet all;
+    private final Map<Facet, Bitmaps> byFacet = new EnumMap<>(Facet.class);
+    private final Bitmaps byCategory = new Bitmaps();
+    private final Bitmaps byLanguage = new Bitmaps();
+
+    private FoodFilterIndex(FoodCatalogSnapshot snapshot) {
+        this.foods = snapshot.getFoods();
+        this.all = new BitSet(foods.size());
+        all.set(0, foods.size());
+        for (Facet facet : Facet.values()) {
+            byFacet.put(facet, new Bitmaps());
+        }
+
+        for (int ordinal = 0; ordinal < foods.size(); ordinal++) {
+            FoodEmbeddedCodes food = foods.get(ordinal);
+            for (Facet facet : Facet.values()) {
+                byFacet.get(facet).mark(facet.valueOf(food), ordinal);
+            }
+            byCategory.mark(food.getFoodCategory(), ordinal);
+            byLanguage.mark(food.getLanguage(), ordinal);
+        }
+    }
+
+    /**
+     * Build the index for a snapshot.
+     */
+    public static FoodFilterIndex build(FoodCatalogSnapshot snapshot) {
+        return new FoodFilterIndex(snapshot);
+    }
+
+    /**
+     * Ordinals of the foods matching the filter.
+     */
+    public BitSet match(FoodFilter filter) {
+        BitSet result = (BitSet) all.clone();
+        filter.getIncluded().forEach((facet, values) -> result.and(byFacet.get(facet).union(values)));
+        filter.getExcluded().forEach((facet, values) -> result.andNot(byFacet.get(facet).union(values)));
+        if (!filter.getCategories().isEmpty()) {
+            result.and(byCategory.union(filter.getCategories()));
+        }
+        if (!filter.getLanguages().isEmpty()) {
+            result.and(byLanguage.union(filter.getLanguages()));
+        }
+        return result;
+    }
+
+    /**
+     * The matching foods from {@code offset}, at most {@code limit} of them, in catalog order.
+     */
+    public List<FoodEmbeddedCodes> page(BitSet matches, int offset, int limit) {
+        List<FoodEmbeddedCodes> page = new ArrayList<>(Math.min(limit, matches.cardinality()));
+        int ordinal = matches.nextSetBit(0);
+        for (int skipped = 0; ordinal >= 0 && skipped < offset; skipped++) {
+            ordinal = matches.nextSetBit(ordinal + 1);
+        }
+        while (ordinal >= 0 && page.size() < limit) {
+            page.add(foods.get(ordinal));
+            ordinal = matches.nextSetBit(ordinal + 1);
+        }
+        return page;
+    }
+
+    /**
+     * Distinct values of a facet, as indexed (lower case).
+     */
+    public Set<String> values(Facet facet) {
+        return byFacet.get(facet).bitmaps.keySet();
+    }
+
+    /**
+     * Number of foods per value of a facet, most common first.
+     */
+    public Map<String, Integer> counts(Facet facet) {
+        return byFacet.get(facet).counts();
+    }
+
+    /**
+     * Number of foods per category, most common first.
+     */
+    public Map<String, Integer> categoryCounts() {
+        return byCategory.counts();
+    }
+
+    /**
+     * Number of foods per language, most common first.
+     */
+    public Map<String, Integer> languageCounts() {
+        return byLanguage.counts();
+    }
+
+    /**
+     * Bitmaps of one field by normalized value, with the value as first seen for display.
+     */
+    private static final class Bitmaps {
+        final Map<String, BitSet> bitmaps = new HashMap<>();
+        final Map<String, String> labels = new HashMap<>();
+
+        void mark(String value, int ordinal) {
+            if (value != null && !value.isBlank()) {
+                String key = FoodFilter.normalize(value);
+                bitmaps.computeIfAbsent(key, v -> new BitSet()).set(ordinal);
+                labels.putIfAbsent(key, value.trim());
+            }
+        }
+
+        BitSet union(Collection<String> values) {
+            if (values.size() == 1) {
+                return bitmaps.getOrDefault(values.iterator().next(), EMPTY);
+            }
+            BitSet union = new BitSet();
+            for (String value : values) {
+                BitSet bitmap = bitmaps.get(value);
+                if (bitmap != null) {
+                    union.or(bitmap);
+                }
+            }
+            return union;
+        }
+
+        /**
+         * Cardinality per value by display label, most common first, ties by label.
+         */
+        Map<String, Integer> counts() {
+            List<Map.Entry<String, Integer>> counts = new ArrayList<>(bitmaps.size());
+            bitmaps.forEach((key, bitmap) -> counts.add(Map.entry(labels.get(key), bitmap.cardinality())));
+            counts.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.<String, Integer>comparingByKey()));
+            Map<String, Integer> result = new LinkedHashMap<>();
+            counts.forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+            return result;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.example.app.catalog;
+
+import com.example.app.models.FoodEmbeddedCodes;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over food names for one catalog snapshot.
+ *
+ * Indexes the tokens of {@code name}, {@code altName} and {@code scientificName} after
+ * folding case and diacritics, so "kött", "Kött" and "kott" are the same term. Each term
+ * is also indexed by its character trigrams, which lets a query token match inside
+ * Swedish compound words ("kött" finds "nötkött") without scanning every name.
+ *
+ * Matches are ranked by how the term matched (exact, prefix, infix) weighted by the
+ * field it matched in. All query tokens must match for a food to be returned.
+ */
+public final class FoodSearchIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
+    // Field weights: a hit in the display name counts most
+    private static final float NAME_WEIGHT = 3f;
+    private static final float ALT_NAME_WEIGHT = 2f;
+    private static final float SCIENTIFIC_NAME_WEIGHT = 1f;
+
+    // Match kind weights
+    private static final float EXACT = 3f;
+    private static final float PREFIX = 2f;
+    private static final float INFIX = 1f;
+
+    private static final int GRAM = 3;
+
+    private final List<FoodEmbeddedCodes> foods;
+    private final String[] languages;
+    private final int[] nameLengths;
+    private final String[] foldedNames;
+
+    // Sorted term dictionary with postings (doc ordinals ascending) and best field weight per posting
+    private final String[] terms;
+    private final int[][] postings;
+    private final float[][] postingWeights;
+
+    // Trigram -> ids of terms containing it (ascending)
+    private final Map<String, int[]> grams;
+
+    private FoodSearchIndex(FoodCatalogSnapshot snapshot) {
+        this.foods = snapshot.getFoods();
+        int size = foods.size();
+        this.languages = new String[size];
+        this.nameLengths = new int[size];
+        this.foldedNames = new String[size];
+
+        TreeMap<String, Map<Integer, Float>> termDocs = new TreeMap<>();
+        for (int doc = 0; doc < size; doc++) {
+            FoodEmbeddedCodes food = foods.get(doc);
+            languages[doc] = food.getLanguage();
+            nameLengths[doc] = food.getName() != null ? food.getName().length() : Integer.MAX_VALUE;
+            foldedNames[doc] = food.getName() != null ? fold(food.getName()) : null;
+            addField(termDocs, doc, food.getName(), NAME_WEIGHT);
+            addField(termDocs, doc, food.getAltName(), ALT_NAME_WEIGHT);
+            addField(termDocs, doc, food.getScientificName(), SCIENTIFIC_NAME_WEIGHT);
+        }
+
+        this.terms = termDocs.keySet().toArray(new String[0]);
+        this.postings = new int[terms.length][];
+        this.postingWeights = new float[terms.length][];
+
+        Map<String, List<Integer>> gramTerms = new HashMap<>();
+        for (int termId = 0; termId < terms.length; termId++) {
+            Map<Integer, Float> docs = termDocs.get(terms[termId]);
+            int[] ids = docs.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+            float[] weights = new float[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                weights[i] = docs.get(ids[i]);
+            }
+            postings[termId] = ids;
+            postingWeights[termId] = weights;
+
+            for (String gram : grams(terms[termId])) {
+                gramTerms.computeIfAbsent(gram, g -> new ArrayList<>()).add(termId);
+            }
+        }
+
+        this.grams = new HashMap<>();
+        gramTerms.forEach((gram, ids) -> grams.put(gram, ids.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * Build the index for a snapshot.
+     */
+    public static FoodSearchIndex build(FoodCatalogSnapshot snapshot) {
+        return new FoodSearchIndex(snapshot);
+    }
+
+    /**
+     * Fold a string for matching: lower case, diacritics removed ("Kött" -> "kott").
+     */
+    public static String fold(String value) {
+        String lower = value.toLowerCase(Locale.ROOT)
+            .replace("ø", "o")
+            .replace("æ", "ae")
+            .replace("ß", "ss");
+        return DIACRITICS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    /**
+     * Split a string into folded search tokens.
+     */
+    public static List<String> tokenize(String value) {
+        if (value == null) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_ALPHANUMERIC.split(fold(value))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Ranked full-text search.
+     *
+     * @param query    free text, every token must match
+     * @param language optional language filter ("en"/"sv"), null for all
+     * @param offset   number of ranked results to skip
+     * @param limit    maximum number of results to return
+     */
+    public SearchResult search(String query, String language, int offset, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return new SearchResult(0, List.of());
+        }
+
+        Map<Integer, Float> scores = match(tokens, language, false);
+        int from = Math.max(offset, 0);
+        int[] ranked = top(scores.keySet(), scores, (int) Math.min((long) from + Math.max(limit, 0), Integer.MAX_VALUE));
+
+        List<FoodEmbeddedCodes> page = new ArrayList<>(Math.max(ranked.length - from, 0));
+        for (int i = from; i < ranked.length; i++) {
+            page.add(foods.get(ranked[i]));
+        }
+        return new SearchResult(scores.size(), page);
+    }
+
+    /**
+     * Typeahead lookup: the last query token is treated as an unfinished prefix.
+     * Returns matching foods with distinct names, best first.
+     */
+    public List<FoodEmbeddedCodes> typeahead(String query, String language, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Map<Integer, Float> scores = match(tokens, language, true);
+        Comparator<Integer> bestFirst = bestFirst(scores);
+
+        // Best match per distinct name, then the best of those
+        Map<String, Integer> bestByName = new HashMap<>();
+        for (int doc : scores.keySet()) {
+            if (foldedNames[doc] != null) {
+                bestByName.merge(foldedNames[doc], doc, (a, b) -> bestFirst.compare(a, b) <= 0 ? a : b);
+            }
+        }
+
+        List<FoodEmbeddedCodes> result = new ArrayList<>();
+        for (int doc : top(bestByName.values(), scores, limit)) {
+            result.add(foods.get(doc));
+        }
+        return result;
+    }
+
+    /**
+     * Score the documents matching every token. Only documents in the postings of
+     * matching terms are visited; each token keeps just the documents that matched all
+     * previous tokens, so the work shrinks with every token.
+     *
+     * @return score by document ordinal, empty when some token matches nothing
+     */
+    private Map<Integer, Float> match(List<String> tokens, String language, boolean prefixOnlyLastToken) {
+        Map<Integer, Float> scores = null;
+
+        for (int t = 0; t < tokens.size(); t++) {
+            String token = tokens.get(t);
+            boolean prefixOnly = prefixOnlyLastToken && t == tokens.size() - 1;
+            Map<Integer, Float> tokenScores = new HashMap<>();
+
+            for (int termId : matchingTerms(token, prefixOnly)) {
+                String term = terms[termId];
+                float kind = term.equals(token) ? EXACT : term.startsWith(token) ? PREFIX : INFIX;
+                int[] docs = postings[termId];
+                float[] weights = postingWeights[termId];
+                for (int i = 0; i < docs.length; i++) {
+                    int doc = docs[i];
+                    if (scores == null ? language == null || language.equals(languages[doc]) : scores.containsKey(doc)) {
+                        tokenScores.merge(doc, kind * weights[i], Math::max);
+                    }
+                }
+            }
+            if (tokenScores.isEmpty()) {
+                return Map.of();
+            }
+            if (scores != null) {
+                Map<Integer, Float> previous = scores;
+                tokenScores.replaceAll((doc, score) -> previous.get(doc) + score);
+            }
+            scores = tokenScores;
+        }
+        return scores;
+    }
+
+    /**
+     * The best {@code k} of the given documents, best first, kept in a bounded heap
+     * rather than sorting every hit.
+     */
+    private int[] top(Collection<Integer> docs, Map<Integer, Float> scores, int k) {
+        if (k <= 0 || docs.isEmpty()) {
+            return new int[0];
+        }
+        Comparator<Integer> bestFirst = bestFirst(scores);
+        PriorityQueue<Integer> worstFirst = new PriorityQueue<>(Math.min(k, docs.size()), bestFirst.reversed());
+        for (Integer doc : docs) {
+            if (worstFirst.size() < k) {
+                worstFirst.add(doc);
+            } else if (bestFirst.compare(doc, worstFirst.peek()) < 0) {
+                worstFirst.poll();
+                worstFirst.add(doc);
+            }
+        }
+
+        int[] ranked = new int[worstFirst.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = worstFirst.poll();
+        }
+        return ranked;
+    }
+
+    /**
+     * Higher score first, then shorter name, then catalog order.
+     */
+    private Comparator<Integer> bestFirst(Map<Integer, Float> scores) {
+        return Comparator.<Integer>comparingDouble(doc -> -scores.get(doc))
+            .thenComparingInt(doc -> nameLengths[doc])
+            .thenComparingInt(doc -> doc);
+    }
+
+    /**
+     * Term ids matching a query token: the prefix range of the sorted dictionary, plus
+     * (for tokens of at least three characters) terms containing the token elsewhere.
+     */
+    private Set<Integer> matchingTerms(String token, boolean prefixOnly) {
+        Set<Integer> matches = new LinkedHashSet<>();
+
+        int from = Arrays.binarySearch(terms, token);
+        if (from < 0) {
+            from = -from - 1;
+        }
+        for (int termId = from; termId < terms.length && terms[termId].startsWith(token); termId++) {
+            matches.add(termId);
+        }
+
+        if (!prefixOnly && token.length() >= GRAM) {
+            int[] candidates = null;
+            for (String gram : grams(token)) {
+                int[] termIds = grams.get(gram);
+                if (termIds == null) {
+                    return matches;
+                }
+                candidates = candidates == null ? termIds : intersect(candidates, termIds);
+            }
+            if (candidates != null) {
+                for (int termId : candidates) {
+                    if (terms[termId].contains(token)) {
+                        matches.add(termId);
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static void addField(TreeMap<String, Map<Integer, Float>> termDocs, int doc, String value, float weight) {
+        for (String token : tokenize(value)) {
+            termDocs.computeIfAbsent(token, t -> new HashMap<>()).merge(doc, weight, Math::max);
+        }
+    }
+
+    private static Set<String> grams(String term) {
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= term.length(); i++) {
+            result.add(term.substring(i, i + GRAM));
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    /**
+     * One page of ranked results plus the total number of matches.
+     */
+    public record SearchResult(int total, List<FoodEmbeddedCodes> foods) {}
+}
@@ -0,0 +1,82 @@
+package com.example.app.catalog;
+
+import com.example.app.models.FoodEmbeddedCodes;
+import com.example.app.models.FoodSummary;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link FoodSummary} lists for a catalog snapshot, built once so list endpoints
+ * return shared summaries instead of mapping full documents per request.
+ */
+public final class FoodSummaryIndex {
+
+    private final Map<FoodEmbeddedCodes, FoodSummary> summaries;
+    private final Map<String, List<FoodSummary>> byLanguage;
+    private final Map<String, List<FoodSummary>> byCategory;
+    private final List<FoodSummary> animalFoods;
+    private final List<FoodSummary> plantFoods;
+
+    private FoodSummaryIndex(FoodCatalogSnapshot snapshot) {
+        this.summaries = new IdentityHashMap<>(snapshot.size());
+        Map<String, List<FoodSummary>> languages = new HashMap<>();
+        Map<String, List<FoodSummary>> categories = new HashMap<>();
+
+        for (FoodEmbeddedCodes food : snapshot.getFoods()) {
+            FoodSummary summary = FoodSummary.from(food);
+            summaries.put(food, summary);
+            if (food.getLanguage() != null) {
+                languages.computeIfAbsent(food.getLanguage(), l -> new ArrayList<>()).add(summary);
+            }
+            if (food.getFoodCategory() != null) {
+                categories.computeIfAbsent(food.getFoodCategory(), c -> new ArrayList<>()).add(summary);
+            }
+        }
+
+        this.byLanguage = freeze(languages);
+        this.byCategory = freeze(categories);
+        this.animalFoods = summarize(snapshot.getAnimalFoods());
+        this.plantFoods = summarize(snapshot.getPlantFoods());
+    }
+
+    /**
+     * Build the summaries for a snapshot.
+     */
+    public static FoodSummaryIndex build(FoodCatalogSnapshot snapshot) {
+        return new FoodSummaryIndex(snapshot);
+    }
+
+    public List<FoodSummary> getByLanguage(String language) {
+        return byLanguage.getOrDefault(language, List.of());
+    }
+
+    public List<FoodSummary> getByCategory(String category) {
+        return byCategory.getOrDefault(category, List.of());
+    }
+
+    public List<FoodSummary> getAnimalFoods() { return animalFoods; }
+
+    public List<FoodSummary> getPlantFoods() { return plantFoods; }
+
+    /**
+     * Summaries of foods from this snapshot, in the same order.
+     */
+    public List<FoodSummary> summarize(List<FoodEmbeddedCodes> foods) {
+        List<FoodSummary> result = new ArrayList<>(foods.size());
+        for (FoodEmbeddedCodes food : foods) {
+            FoodSummary summary = summaries.get(food);
+            result.add(summary != null ? summary : FoodSummary.from(food));
+        }
+        return List.copyOf(result);
+    }
+
+    private static Map<String, List<FoodSummary>> freeze(Map<String, List<FoodSummary>> index) {
+        Map<String, List<FoodSummary>> frozen = new HashMap<>();
+        index.forEach((key, value) -> frozen.put(key, List.copyOf(value)));
+        return frozen;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.app.config;
+
+import com.example.app.models.FoodEmbeddedCodes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+/**
+ * Backfills derived fields on food documents imported outside the application
+ * (e.g. by the data-generation scripts), which bypass {@link FoodDerivedFieldsCallback}.
+ *
+ * Runs once at startup and only touches documents missing a derived field, so it is
+ * a no-op once the collection is up to date. Updates are sent as unordered bulk writes.
+ */
+@Component
+public class FoodDerivedFieldsBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(FoodDerivedFieldsBackfill.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    @Autowired
+    public FoodDerivedFieldsBackfill(MongoTemplate mongoTemplate,
+                                     @Value("${app.foods.backfill.enabled:true}") boolean enabled,
+                                     @Value("${app.foods.backfill.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            backfill();
+        } catch (Exception e) {
+            // Reads classify missing fields on the fly, so this only costs performance
+            logger.warn("Food derived-field backfill failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Compute and store derived fields for every food missing them.
+     *
+     * @return number of documents updated
+     */
+    public long backfill() {
+        long start = System.nanoTime();
+        Query query = new Query(new Criteria().orOperator(
+            Criteria.where("sourceKind").exists(false),
+            Criteria.where("allLangualIds").exists(false)));
+        query.fields().include("classifications");
+
+        long updated = 0;
+        BulkOperations bulk = null;
+        int pending = 0;
+        try (Stream<FoodEmbeddedCodes> foods = mongoTemplate.stream(query, FoodEmbeddedCodes.class)) {
+            for (FoodEmbeddedCodes food : (Iterable<FoodEmbeddedCodes>) foods::iterator) {
+                food.refreshDerivedFields();
+                if (bulk == null) {
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, FoodEmbeddedCodes.class);
+                }
+                bulk.updateOne(Query.query(Criteria.where("_id").is(food.getId())),
+                               new Update().set("sourceKind", food.getSourceKind())
+                                           .set("allLangualIds", food.getAllLangualIds()));
+                if (++pending == batchSize) {
+                    updated += bulk.execute().getModifiedCount();
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+        }
+        if (bulk != null) {
+            updated += bulk.execute().getModifiedCount();
+        }
+
+        if (updated > 0) {
+            logger.info("Backfilled derived fields on {} foods in {} ms",
+                updated, (System.nanoTime() - start) / 1_000_000);
+        }
+        return updated;
+    }
+}
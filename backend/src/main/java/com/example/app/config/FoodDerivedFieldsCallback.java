@@ -0,0 +1,19 @@
+package com.example.app.config;
+
+import com.example.app.models.FoodEmbeddedCodes;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps derived food fields (such as {@code sourceKind}) in sync on every save,
+ * so documents written by the application never need the backfill.
+ */
+@Component
+public class FoodDerivedFieldsCallback implements BeforeConvertCallback<FoodEmbeddedCodes> {
+
+    @Override
+    public FoodEmbeddedCodes onBeforeConvert(FoodEmbeddedCodes food, String collection) {
+        food.refreshDerivedFields();
+        return food;
+    }
+}
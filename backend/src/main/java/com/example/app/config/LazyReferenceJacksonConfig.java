@@ -0,0 +1,36 @@
+package com.example.app.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.LazyLoadingProxy;
+
+import java.io.IOException;
+
+/**
+ * Serializes lazy {@code @DBRef} proxies as the document they point to.
+ *
+ * List reads replace proxies through {@code ReferenceResolver}; any proxy that reaches
+ * a response without being replaced is resolved here on its own, instead of Jackson
+ * serializing the proxy class.
+ */
+@Configuration
+public class LazyReferenceJacksonConfig {
+
+    @Bean
+    public Module lazyReferenceModule() {
+        SimpleModule module = new SimpleModule("LazyReferenceModule");
+        module.addSerializer(LazyLoadingProxy.class, new JsonSerializer<>() {
+            @Override
+            public void serialize(LazyLoadingProxy proxy, JsonGenerator generator, SerializerProvider provider)
+                    throws IOException {
+                provider.defaultSerializeValue(proxy.getTarget(), generator);
+            }
+        });
+        return module;
+    }
+}
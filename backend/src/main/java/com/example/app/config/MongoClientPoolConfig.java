@@ -0,0 +1,31 @@
+package com.example.app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connection pool limits of the MongoDB driver.
+ *
+ * With virtual threads Tomcat no longer caps concurrent requests at its 200 worker
+ * threads, so the driver pool becomes the limit on concurrent queries. Requests beyond
+ * it wait for a connection for at most {@code max-wait-ms} and then fail, rather than
+ * queueing without bound when the database is slow.
+ */
+@Configuration
+public class MongoClientPoolConfig {
+
+    @Bean
+    MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(
+            @Value("${app.mongo.pool.max-size:100}") int maxSize,
+            @Value("${app.mongo.pool.max-wait-ms:5000}") long maxWaitMillis,
+            @Value("${app.mongo.pool.max-connecting:4}") int maxConnecting) {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+            .maxSize(maxSize)
+            .maxWaitTime(maxWaitMillis, TimeUnit.MILLISECONDS)
+            .maxConnecting(maxConnecting));
+    }
+}
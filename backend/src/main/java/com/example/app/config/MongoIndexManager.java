@@ -0,0 +1,209 @@
+package com.example.app.config;
+
+import com.example.app.models.CommunityPost;
+import com.example.app.models.Food;
+import com.example.app.models.FoodEmbeddedCodes;
+import com.example.app.models.FoodExperience;
+import com.example.app.models.User;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Creates MongoDB indexes at startup and checks that hot queries use them.
+ *
+ * Indexes are declared on the model classes with {@code @Indexed} and
+ * {@code @CompoundIndex} and created here for the entities listed in
+ * {@link #INDEXED_ENTITIES}. Creating an index that already exists is a no-op, so
+ * this is safe on every start. Spring's own auto-index-creation stays off.
+ *
+ * After creation each query in {@link #HOT_QUERIES} is explained; a plan containing
+ * a COLLSCAN is logged ({@code verify: warn}) or aborts startup ({@code verify: fail}).
+ */
+@Component
+public class MongoIndexManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexManager.class);
+
+    /**
+     * Entities whose annotated indexes are managed here. FoodOptimized maps the same
+     * collection as FoodEmbeddedCodes with stale field names, so it is left out.
+     */
+    static final List<Class<?>> INDEXED_ENTITIES = List.of(
+        FoodEmbeddedCodes.class, FoodExperience.class, CommunityPost.class, User.class, Food.class);
+
+    /**
+     * Query shapes issued by the busiest repository methods, with representative values.
+     */
+    static final List<HotQuery> HOT_QUERIES = List.of(
+        // FoodEmbeddedCodesRepository
+        new HotQuery("foods.findByFoodNumber", FoodEmbeddedCodes.class,
+            new Document("foodNumber", 1), null),
+        new HotQuery("foods.findByFoodNumberAndLanguage", FoodEmbeddedCodes.class,
+            new Document("foodNumber", 1).append("language", "en"), null),
+        new HotQuery("foods.findByLanguage(paged)", FoodEmbeddedCodes.class,
+            new Document("language", "en"), new Document("foodNumber", 1)),
+        new HotQuery("foods.findByFoodCategory(paged)", FoodEmbeddedCodes.class,
+            new Document("foodCategory", "Fruit"), new Document("foodNumber", 1).append("language", 1)),
+        new HotQuery("foods.findAnimalProducts", FoodEmbeddedCodes.class,
+            new Document("sourceKind", new Document("$in", List.of("ANIMAL", "MIXED"))), null),
+        new HotQuery("foods.findByAnyLangualId", FoodEmbeddedCodes.class,
+            new Document("allLangualIds", "A0810"), null),
+        // FoodExperienceRepository
+        new HotQuery("experiences.findByUserIdAndFoodNumber", FoodExperience.class,
+            new Document("userId", "user").append("foodNumber", 1), null),
+        new HotQuery("experiences.findByUserIdOrderByCreatedAtDesc", FoodExperience.class,
+            new Document("userId", "user"), new Document("createdAt", -1)),
+        new HotQuery("experiences.findLikedFoodNumbersByUserId", FoodExperience.class,
+            new Document("userId", "user").append("rating", new Document("$gte", 4)), null),
+        // CommunityPostRepository
+        new HotQuery("posts.findByIsApproved(sorted)", CommunityPost.class,
+            new Document("isApproved", true), new Document("createdAt", -1)),
+        new HotQuery("posts.findTrendingPosts", CommunityPost.class,
+            new Document("createdAt", new Document("$gte", Date.from(Instant.now().minus(Duration.ofDays(7)))))
+                .append("likesCount", new Document("$gte", 5)), null),
+        new HotQuery("posts.findAllOrderByEngagement", CommunityPost.class,
+            new Document(), new Document("likesCount", -1).append("commentsCount", -1)),
+        // UserRepository
+        new HotQuery("users.findByEmail", User.class,
+            new Document("email", "user@example.com"), null)
+    );
+
+    enum VerifyMode { OFF, WARN, FAIL }
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+    private final boolean createIndexes;
+    private final VerifyMode verifyMode;
+
+    @Autowired
+    public MongoIndexManager(MongoTemplate mongoTemplate,
+                             MongoMappingContext mappingContext,
+                             @Value("${app.mongo.indexes.create:true}") boolean createIndexes,
+                             @Value("${app.mongo.indexes.verify:warn}") String verifyMode) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+        this.createIndexes = createIndexes;
+        this.verifyMode = VerifyMode.valueOf(verifyMode.trim().toUpperCase(Locale.ROOT));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onStartup() {
+        if (createIndexes) {
+            ensureIndexes();
+        }
+        if (verifyMode != VerifyMode.OFF) {
+            List<String> scans = verifyQueryPlans();
+            if (!scans.isEmpty() && verifyMode == VerifyMode.FAIL) {
+                throw new IllegalStateException("Queries without a usable index: " + scans);
+            }
+        }
+    }
+
+    /**
+     * Create all declared indexes that do not exist yet.
+     */
+    public void ensureIndexes() {
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        for (Class<?> type : INDEXED_ENTITIES) {
+            IndexOperations indexOps = mongoTemplate.indexOps(type);
+            for (IndexDefinition index : resolver.resolveIndexFor(type)) {
+                try {
+                    indexOps.ensureIndex(index);
+                } catch (Exception e) {
+                    // Usually an existing index with the same keys under another name
+                    logger.warn("Could not create index {} on {}: {}",
+                        index.getIndexKeys().toJson(), mongoTemplate.getCollectionName(type), e.getMessage());
+                }
+            }
+        }
+        logger.info("Ensured indexes for {} collections", INDEXED_ENTITIES.size());
+    }
+
+    /**
+     * Explain every hot query and report the ones whose plan scans the collection.
+     *
+     * @return names of queries planned as a COLLSCAN
+     */
+    public List<String> verifyQueryPlans() {
+        List<String> scans = new ArrayList<>();
+        for (HotQuery query : HOT_QUERIES) {
+            try {
+                Document plan = explain(query);
+                if (containsStage(plan, "COLLSCAN")) {
+                    scans.add(query.name());
+                    logger.warn("Query {} on {} is planned as a COLLSCAN: filter={} sort={}",
+                        query.name(), mongoTemplate.getCollectionName(query.entity()),
+                        query.filter().toJson(), query.sort() != null ? query.sort().toJson() : "{}");
+                }
+            } catch (Exception e) {
+                logger.warn("Could not explain query {}: {}", query.name(), e.getMessage());
+            }
+        }
+        if (scans.isEmpty()) {
+            logger.info("All {} registered queries use an index", HOT_QUERIES.size());
+        }
+        return scans;
+    }
+
+    private Document explain(HotQuery query) {
+        var find = mongoTemplate.getCollection(mongoTemplate.getCollectionName(query.entity()))
+            .find(query.filter());
+        if (query.sort() != null) {
+            find = find.sort(query.sort());
+        }
+        Document explain = find.explain();
+        Object planner = explain.get("queryPlanner");
+        return planner instanceof Document queryPlanner && queryPlanner.get("winningPlan") instanceof Document plan
+            ? plan : explain;
+    }
+
+    /**
+     * Search a plan tree for a stage, covering classic (inputStage/inputStages)
+     * and slot-based (queryPlan) explain formats.
+     */
+    static boolean containsStage(Object node, String stage) {
+        if (node instanceof Document document) {
+            if (stage.equals(document.get("stage"))) {
+                return true;
+            }
+            for (Object child : document.values()) {
+                if (containsStage(child, stage)) {
+                    return true;
+                }
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object child : list) {
+                if (containsStage(child, stage)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A registered query: raw filter and sort as MongoDB receives them.
+     */
+    record HotQuery(String name, Class<?> entity, Document filter, Document sort) {}
+}
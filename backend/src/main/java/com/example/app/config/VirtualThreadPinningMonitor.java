@@ -0,0 +1,87 @@
+package com.example.app.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread.
+ *
+ * A virtual thread that blocks inside a {@code synchronized} block or a native frame
+ * cannot unmount, so it holds one of the few carrier threads for the whole wait. This
+ * streams the JFR {@code jdk.VirtualThreadPinned} event in-process; every pinning longer
+ * than the threshold increments {@code jvm.threads.virtual.pinned} and is logged with
+ * the top of its stack, which points at the section to change to a
+ * {@link java.util.concurrent.locks.ReentrantLock}.
+ *
+ * Active only when virtual threads are enabled.
+ */
+@Component
+@ConditionalOnProperty(name = {"spring.threads.virtual.enabled", "app.threads.pinning-monitor.enabled"}, havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final Counter pinnedCounter;
+    private final Duration threshold;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${app.threads.pinning-monitor.threshold-ms:20}") long thresholdMillis) {
+        this.pinnedCounter = Counter.builder("jvm.threads.virtual.pinned")
+            .description("Virtual threads pinned to their carrier longer than the threshold")
+            .register(meterRegistry);
+        this.threshold = Duration.ofMillis(thresholdMillis);
+    }
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        logger.info("Monitoring virtual thread pinning longer than {} ms", threshold.toMillis());
+    }
+
+    void onPinned(RecordedEvent event) {
+        pinnedCounter.increment();
+        if (logger.isWarnEnabled()) {
+            logger.warn("Virtual thread pinned for {} ms:\n{}", event.getDuration().toMillis(), topFrames(event));
+        }
+    }
+
+    private static String topFrames(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "\t(no stack trace)";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        return frames.stream()
+            .limit(LOGGED_FRAMES)
+            .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + "(line " + frame.getLineNumber() + ")")
+            .collect(Collectors.joining("\n"));
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
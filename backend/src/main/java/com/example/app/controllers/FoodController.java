@@ -1,28 +1,60 @@
 package com.example.app.controllers;
 
+import com.example.app.catalog.FoodFilter;
+import com.example.app.catalog.FoodFilterIndex;
+import com.example.app.catalog.FoodSearchIndex;
+import com.example.app.models.BilingualFood;
+import com.example.app.models.CursorPage;
+import com.example.app.models.FoodBatch;
 import com.example.app.models.FoodEmbeddedCodes;
+import com.example.app.models.FoodFacets;
+import com.example.app.models.FoodSummary;
+import com.example.app.models.FoodTypeaheadEntry;
 import com.example.app.services.FoodService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * REST Controller for food operations.
  * Provides basic CRUD operations for the optimized food data.
+ *
+ * List endpoints return {@link FoodSummary} entries by default; pass {@code view=full}
+ * to get complete documents including classifications and raw materials.
+ *
+ * The {@code /stream} endpoints export whole listings straight from a MongoDB cursor as
+ * NDJSON ({@code Accept: application/x-ndjson}, the default) or server-sent events
+ * ({@code Accept: text/event-stream}), without building the full response in memory.
  */
 @RestController
 @RequestMapping("/api/v1/foods")
 @CrossOrigin(origins = "*")
 public class FoodController {
     
+    private static final int MAX_SEARCH_LIMIT = 200;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final String FULL_VIEW = "full";
+    
     @Autowired
     private FoodService foodService;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     /**
      * Get all foods with pagination.
      */
@@ -31,6 +63,17 @@ public class FoodController {
         return foodService.getAllFoods(pageable);
     }
     
+    /**
+     * Stream all foods.
+     */
+    @GetMapping(value = "/stream", produces = {StreamingJson.NDJSON, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamAllFoods(
+            @RequestParam(required = false) String view,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Class<?> type = viewType(view);
+        return stream(accept, () -> foodService.streamAllFoods(type));
+    }
+    
     /**
      * Get food by food number.
      */
@@ -41,6 +84,28 @@ public class FoodController {
                   .orElse(ResponseEntity.notFound().build());
     }
     
+    /**
+     * Get the English and Swedish variants of a food in one response.
+     */
+    @GetMapping("/{foodNumber}/bilingual")
+    public ResponseEntity<BilingualFood> getBilingualFood(@PathVariable Integer foodNumber) {
+        return foodService.getBilingualFood(foodNumber)
+                  .map(ResponseEntity::ok)
+                  .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Get many foods by food number in one request, in request order. Foods that do
+     * not exist are null in {@code foods} and listed in {@code missing}.
+     */
+    @PostMapping("/batch")
+    public FoodBatch<?> getFoodsByNumbers(
+            @RequestBody FoodBatchRequest request,
+            @RequestParam(required = false) String view) {
+        return isFullView(view) ? foodService.getFoodsByNumbers(request.getFoodNumbers(), request.getLanguage())
+                                : foodService.getFoodSummariesByNumbers(request.getFoodNumbers(), request.getLanguage());
+    }
+    
     /**
      * Get food by food number and language.
      */
@@ -57,44 +122,125 @@ public class FoodController {
      * Get foods by language.
      */
     @GetMapping("/language/{language}")
-    public List<FoodEmbeddedCodes> getFoodsByLanguage(@PathVariable String language) {
-        return foodService.getFoodsByLanguage(language);
+    public List<?> getFoodsByLanguage(
+            @PathVariable String language,
+            @RequestParam(required = false) String view) {
+        return isFullView(view) ? foodService.getFoodsByLanguage(language)
+                                : foodService.getFoodSummariesByLanguage(language);
+    }
+    
+    /**
+     * Stream foods by language.
+     */
+    @GetMapping(value = "/language/{language}/stream", produces = {StreamingJson.NDJSON, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamFoodsByLanguage(
+            @PathVariable String language,
+            @RequestParam(required = false) String view,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Class<?> type = viewType(view);
+        return stream(accept, () -> foodService.streamFoodsByLanguage(language, type));
     }
     
     /**
      * Get foods by language with pagination.
      */
     @GetMapping("/language/{language}/paged")
-    public Page<FoodEmbeddedCodes> getFoodsByLanguageWithPaging(
+    public Page<?> getFoodsByLanguageWithPaging(
             @PathVariable String language, 
+            @RequestParam(required = false) String view,
             Pageable pageable) {
-        return foodService.getFoodsByLanguage(language, pageable);
+        return foodService.getFoodsByLanguage(language, pageable, viewType(view));
+    }
+    
+    /**
+     * Get foods by language with keyset pagination. Start with an empty cursor and
+     * pass the returned nextCursor to get the following page.
+     */
+    @GetMapping(value = "/language/{language}/paged", params = "cursor")
+    public CursorPage<?> getFoodsByLanguageWithCursor(
+            @PathVariable String language,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String view) {
+        return foodService.getFoodsByLanguage(language, cursor, pageSize(size), viewType(view));
     }
     
     /**
-     * Search foods by name.
+     * Search foods by name, best matches first.
+     * The total number of matches is returned in the X-Total-Count header.
      */
     @GetMapping("/search")
-    public List<FoodEmbeddedCodes> searchFoods(@RequestParam String name) {
-        return foodService.searchFoodsByName(name);
+    public ResponseEntity<List<FoodEmbeddedCodes>> searchFoods(
+            @RequestParam String name,
+            @RequestParam(required = false) String language,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "50") int limit) {
+        FoodSearchIndex.SearchResult result = foodService.searchFoods(
+            name, language, offset, Math.min(limit, MAX_SEARCH_LIMIT));
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(result.total()))
+                .body(result.foods());
+    }
+    
+    /**
+     * Typeahead for the search box: treats the last word as a prefix and
+     * returns distinct names only.
+     */
+    @GetMapping(value = "/search", params = "typeahead=true")
+    public List<FoodTypeaheadEntry> typeahead(
+            @RequestParam String name,
+            @RequestParam(required = false) String language,
+            @RequestParam(defaultValue = "10") int limit) {
+        return foodService.typeahead(name, language, Math.min(limit, MAX_SEARCH_LIMIT)).stream()
+                .map(FoodTypeaheadEntry::from)
+                .collect(Collectors.toList());
     }
     
     /**
      * Get foods by category.
      */
     @GetMapping("/category/{category}")
-    public List<FoodEmbeddedCodes> getFoodsByCategory(@PathVariable String category) {
-        return foodService.getFoodsByCategory(category);
+    public List<?> getFoodsByCategory(
+            @PathVariable String category,
+            @RequestParam(required = false) String view) {
+        return isFullView(view) ? foodService.getFoodsByCategory(category)
+                                : foodService.getFoodSummariesByCategory(category);
+    }
+    
+    /**
+     * Stream foods by category.
+     */
+    @GetMapping(value = "/category/{category}/stream", produces = {StreamingJson.NDJSON, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamFoodsByCategory(
+            @PathVariable String category,
+            @RequestParam(required = false) String view,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Class<?> type = viewType(view);
+        return stream(accept, () -> foodService.streamFoodsByCategory(category, type));
     }
     
     /**
      * Get foods by category with pagination.
      */
     @GetMapping("/category/{category}/paged")
-    public Page<FoodEmbeddedCodes> getFoodsByCategoryWithPaging(
+    public Page<?> getFoodsByCategoryWithPaging(
             @PathVariable String category, 
+            @RequestParam(required = false) String view,
             Pageable pageable) {
-        return foodService.getFoodsByCategory(category, pageable);
+        return foodService.getFoodsByCategory(category, pageable, viewType(view));
+    }
+    
+    /**
+     * Get foods by category with keyset pagination. Start with an empty cursor and
+     * pass the returned nextCursor to get the following page.
+     */
+    @GetMapping(value = "/category/{category}/paged", params = "cursor")
+    public CursorPage<?> getFoodsByCategoryWithCursor(
+            @PathVariable String category,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String view) {
+        return foodService.getFoodsByCategory(category, cursor, pageSize(size), viewType(view));
     }
     
     /**
@@ -105,20 +251,58 @@ public class FoodController {
         return foodService.getAllCategories();
     }
     
+    /**
+     * Filter foods by classification facets: physicalState, heatTreatment, preservation,
+     * geographicOrigin, productType and foodSource, plus category and language. Repeat a
+     * parameter to accept any of several values; prefix a facet value with {@code !} to
+     * exclude it. Different parameters must all match.
+     * Example: {@code ?heatTreatment=Boiled&heatTreatment=Baked&preservation=!Frozen&language=en}
+     */
+    @GetMapping("/filter")
+    public Page<?> filterFoods(
+            @RequestParam MultiValueMap<String, String> params,
+            @RequestParam(required = false) String view,
+            Pageable pageable) {
+        FoodFilter filter = new FoodFilter();
+        for (FoodFilterIndex.Facet facet : FoodFilterIndex.Facet.values()) {
+            for (String value : params.getOrDefault(facet.getParameter(), List.of())) {
+                if (value.startsWith("!")) {
+                    filter.exclude(facet, value.substring(1));
+                } else {
+                    filter.include(facet, value);
+                }
+            }
+        }
+        filter.categories(params.getOrDefault("category", List.of()).toArray(String[]::new));
+        filter.languages(params.getOrDefault("language", List.of()).toArray(String[]::new));
+        
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageSize(pageable.getPageSize()));
+        return isFullView(view) ? foodService.filterFoods(filter, page) : foodService.filterFoodSummaries(filter, page);
+    }
+    
+    /**
+     * Get food counts per category, language, food source, physical state, heat
+     * treatment and preservation, for filter sidebars.
+     */
+    @GetMapping("/facets")
+    public FoodFacets getFacets() {
+        return foodService.getFacets();
+    }
+    
     /**
      * Get animal-based foods.
      */
     @GetMapping("/animal")
-    public List<FoodEmbeddedCodes> getAnimalFoods() {
-        return foodService.getAnimalFoods();
+    public List<?> getAnimalFoods(@RequestParam(required = false) String view) {
+        return isFullView(view) ? foodService.getAnimalFoods() : foodService.getAnimalFoodSummaries();
     }
     
     /**
      * Get plant-based foods.
      */
     @GetMapping("/plant")
-    public List<FoodEmbeddedCodes> getPlantFoods() {
-        return foodService.getPlantFoods();
+    public List<?> getPlantFoods(@RequestParam(required = false) String view) {
+        return isFullView(view) ? foodService.getPlantFoods() : foodService.getPlantFoodSummaries();
     }
     
     /**
@@ -136,4 +320,35 @@ public class FoodController {
     public long getFoodCountByLanguage(@PathVariable String language) {
         return foodService.getFoodCountByLanguage(language);
     }
-}
\ No newline at end of file
+    
+    private static boolean isFullView(String view) {
+        return FULL_VIEW.equalsIgnoreCase(view);
+    }
+    
+    private static Class<?> viewType(String view) {
+        return isFullView(view) ? FoodEmbeddedCodes.class : FoodSummary.class;
+    }
+    
+    private ResponseEntity<StreamingResponseBody> stream(String accept, Supplier<? extends Stream<?>> source) {
+        boolean events = accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+        return events ? StreamingJson.sse(objectMapper, source) : StreamingJson.ndjson(objectMapper, source);
+    }
+    
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+    
+    /**
+     * Request DTO for batch lookups.
+     */
+    public static class FoodBatchRequest {
+        private List<Integer> foodNumbers;
+        private String language;
+        
+        public List<Integer> getFoodNumbers() { return foodNumbers; }
+        public void setFoodNumbers(List<Integer> foodNumbers) { this.foodNumbers = foodNumbers; }
+        
+        public String getLanguage() { return language; }
+        public void setLanguage(String language) { this.language = language; }
+    }
+}
@@ -7,8 +7,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Controller for managing food experiences and logging.
@@ -54,6 +56,15 @@ public class FoodExperienceController {
         return ResponseEntity.ok(stats);
     }
 
+    /**
+     * Recompute user statistics from the full experience history (repair).
+     */
+    @PostMapping("/user/{userId}/stats/rebuild")
+    public ResponseEntity<UserStats> rebuildUserStats(@PathVariable String userId) {
+        UserStats stats = experienceService.rebuildUserStats(userId);
+        return ResponseEntity.ok(stats);
+    }
+
     /**
      * Get foods that the user has liked (rating 4+).
      */
@@ -141,6 +152,8 @@ public class FoodExperienceController {
         private double positivePercentage;
         private long streak;
         private List<String> recentAchievements;
+        private Map<Integer, Long> ratingHistogram = new TreeMap<>();
+        private List<Integer> likedFoodNumbers = new ArrayList<>();
 
         public UserStats() {}
 
@@ -168,5 +181,13 @@ public class FoodExperienceController {
 
         public List<String> getRecentAchievements() { return recentAchievements; }
         public void setRecentAchievements(List<String> recentAchievements) { this.recentAchievements = recentAchievements; }
+
+        /** Number of experiences per star rating (1-5). */
+        public Map<Integer, Long> getRatingHistogram() { return ratingHistogram; }
+        public void setRatingHistogram(Map<Integer, Long> ratingHistogram) { this.ratingHistogram = ratingHistogram; }
+
+        /** Distinct food numbers rated 4 or higher. */
+        public List<Integer> getLikedFoodNumbers() { return likedFoodNumbers; }
+        public void setLikedFoodNumbers(List<Integer> likedFoodNumbers) { this.likedFoodNumbers = likedFoodNumbers; }
     }
 }
@@ -0,0 +1,75 @@
+package com.example.app.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of results as newline-delimited JSON or server-sent events.
+ *
+ * Each element is serialized and written on its own, so the response starts with the
+ * first element and never holds more than one serialized element in memory. When the
+ * source is a MongoDB cursor, the next batch is only fetched once the client has taken
+ * the previous one: a slow client slows the cursor down instead of filling the heap.
+ */
+final class StreamingJson {
+
+    static final String NDJSON = "application/x-ndjson";
+
+    // Flush after the first element, then every this many
+    private static final int FLUSH_EVERY = 100;
+
+    private static final byte[] NEWLINE = {'\n'};
+    private static final byte[] EVENT_START = "data: ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EVENT_END = {'\n', '\n'};
+
+    private StreamingJson() {
+    }
+
+    /**
+     * One JSON document per line. The stream is opened when the response is written
+     * and always closed.
+     */
+    static ResponseEntity<StreamingResponseBody> ndjson(ObjectMapper objectMapper, Supplier<? extends Stream<?>> source) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(out -> write(objectMapper.writer(), source, out, null, NEWLINE));
+    }
+
+    /**
+     * One server-sent event per element, with the JSON document as its data.
+     */
+    static ResponseEntity<StreamingResponseBody> sse(ObjectMapper objectMapper, Supplier<? extends Stream<?>> source) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(out -> write(objectMapper.writer(), source, out, EVENT_START, EVENT_END));
+    }
+
+    private static void write(ObjectWriter writer, Supplier<? extends Stream<?>> source, OutputStream out,
+                              byte[] prefix, byte[] suffix) throws IOException {
+        try (Stream<?> stream = source.get()) {
+            Iterator<?> elements = stream.iterator();
+            int written = 0;
+            while (elements.hasNext()) {
+                if (prefix != null) {
+                    out.write(prefix);
+                }
+                out.write(writer.writeValueAsBytes(elements.next()));
+                out.write(suffix);
+                if (++written % FLUSH_EVERY == 1) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        }
+    }
+}
@@ -23,7 +23,7 @@ public class SuggestionController {
      */
     @PostMapping
     public ResponseEntity<List<FoodSuggestion>> getSuggestions(@RequestBody SuggestionRequest request) {
-        List<FoodSuggestion> suggestions = suggestionService.generateSuggestions(
+        List<FoodSuggestion> suggestions = suggestionService.getSuggestions(
             request.getLikedFoodNumbers(), 
             request.getMaxSuggestions() != null ? request.getMaxSuggestions() : 5
         );
@@ -2,6 +2,7 @@ package com.example.app.controllers;
 
 import com.example.app.models.User;
 import com.example.app.repositories.UserRepository;
+import com.example.app.security.CustomUserDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -16,10 +17,12 @@ import java.util.Optional;
 public class UserController {
 
     private final UserRepository userRepository;
+    private final CustomUserDetailsService userDetailsService;
 
     @Autowired
-    public UserController(UserRepository userRepository) {
+    public UserController(UserRepository userRepository, CustomUserDetailsService userDetailsService) {
         this.userRepository = userRepository;
+        this.userDetailsService = userDetailsService;
     }
 
     @GetMapping
@@ -52,12 +55,16 @@ public class UserController {
         
         if (optionalUser.isPresent()) {
             User user = optionalUser.get();
+            String previousEmail = user.getEmail();
             user.setName(userDetails.getName());
             user.setEmail(userDetails.getEmail());
             if (userDetails.getRoles() != null) {
                 user.setRoles(userDetails.getRoles());
             }
-            return ResponseEntity.ok(userRepository.save(user));
+            User saved = userRepository.save(user);
+            userDetailsService.evict(previousEmail);
+            userDetailsService.evict(saved.getEmail());
+            return ResponseEntity.ok(saved);
         } else {
             return ResponseEntity.notFound().build();
         }
@@ -65,8 +72,10 @@ public class UserController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUser(@PathVariable String id) {
-        if (userRepository.existsById(id)) {
+        Optional<User> user = userRepository.findById(id);
+        if (user.isPresent()) {
             userRepository.deleteById(id);
+            userDetailsService.evict(user.get().getEmail());
             return ResponseEntity.noContent().build();
         } else {
             return ResponseEntity.notFound().build();
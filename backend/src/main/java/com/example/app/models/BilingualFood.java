@@ -0,0 +1,6 @@
+package com.example.app.models;
+
+/**
+ * Both language variants of a food. A variant that does not exist is null.
+ */
+public record BilingualFood(Integer foodNumber, FoodEmbeddedCodes en, FoodEmbeddedCodes sv) {}
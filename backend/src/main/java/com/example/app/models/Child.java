@@ -20,7 +20,7 @@ public class Child {
     private String profileImageUrl;
     
     // Link to parent user
-    @DBRef
+    @DBRef(lazy = true)
     private User parent;
     
     // Food preferences and restrictions
@@ -5,17 +5,21 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 
 import java.time.Instant;
 import java.util.List;
 
 @Document("community_posts")
+@CompoundIndex(name = "isApproved_createdAt", def = "{'isApproved': 1, 'createdAt': -1}")
+@CompoundIndex(name = "createdAt_likesCount", def = "{'createdAt': -1, 'likesCount': -1}")
+@CompoundIndex(name = "likesCount_commentsCount", def = "{'likesCount': -1, 'commentsCount': -1}")
 public class CommunityPost {
     @Id
     private String id;
 
-    @DBRef
+    @DBRef(lazy = true)
     @Indexed
     private User author;
 
@@ -23,7 +27,7 @@ public class CommunityPost {
     private String title;
     
     // Related food information
-    @DBRef
+    @DBRef(lazy = true)
     private Food relatedFood;
     private Integer foodRating; // 1-5 stars if sharing a food experience
     
@@ -0,0 +1,11 @@
+package com.example.app.models;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ *
+ * {@code nextCursor} is an opaque token to pass back as {@code cursor} for the
+ * following page, or null when this is the last page.
+ */
+public record CursorPage<T>(List<T> content, int size, String nextCursor) {}
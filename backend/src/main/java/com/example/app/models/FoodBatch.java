@@ -0,0 +1,11 @@
+package com.example.app.models;
+
+import java.util.List;
+
+/**
+ * Result of a batch food lookup.
+ *
+ * {@code foods} has one entry per requested food number, in request order, with null
+ * where no food was found. {@code missing} lists those food numbers.
+ */
+public record FoodBatch<T>(List<T> foods, List<Integer> missing) {}
@@ -2,10 +2,13 @@ package com.example.app.models;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.Map;
 import java.util.List;
+import java.util.TreeSet;
 
 /**
  * Food model with embedded regulatory codes structure.
@@ -16,13 +19,16 @@ import java.util.List;
  * Collection: foods_embedded_codes
  */
 @Document("foods_embedded_codes")
+@CompoundIndex(name = "foodNumber_language", def = "{'foodNumber': 1, 'language': 1}", unique = true)
+@CompoundIndex(name = "language_foodNumber", def = "{'language': 1, 'foodNumber': 1}")
+@CompoundIndex(name = "foodCategory_foodNumber_language", def = "{'foodCategory': 1, 'foodNumber': 1, 'language': 1}")
 public class FoodEmbeddedCodes {
     
     @Id
     private String id;
     
     
-    @Indexed
+    // Indexed as the prefix of the unique (foodNumber, language) key
     private Integer foodNumber;           // Food number as stored in MongoDB
     
     private String name;                  // Food name as stored in MongoDB
@@ -42,6 +48,13 @@ public class FoodEmbeddedCodes {
     @Indexed
     private String foodCategory;      // Primary category (parent level)
     
+    @Indexed
+    private FoodSourceKind sourceKind; // Derived from classifications.foodSource, see refreshDerivedFields()
+    
+    @Indexed
+    @JsonIgnore
+    private List<String> allLangualIds; // Multikey: LanguaL ids of all classifications, see refreshDerivedFields()
+    
     // Embedded classifications - each contains name + regulatory codes
     private FoodClassificationsEmbedded classifications;
     
@@ -82,6 +95,24 @@ public class FoodEmbeddedCodes {
     public String getFoodCategory() { return foodCategory; }
     public void setFoodCategory(String foodCategory) { this.foodCategory = foodCategory; }
     
+    /**
+     * Stored source kind, or one classified on the fly for documents not yet backfilled.
+     */
+    public FoodSourceKind getSourceKind() {
+        return sourceKind != null ? sourceKind : FoodSourceKind.classify(getFoodSourceName());
+    }
+    public void setSourceKind(FoodSourceKind sourceKind) { this.sourceKind = sourceKind; }
+    
+    /**
+     * Stored LanguaL ids of all classifications, or ones collected on the fly for
+     * documents not yet backfilled.
+     */
+    @JsonIgnore
+    public List<String> getAllLangualIds() {
+        return allLangualIds != null ? allLangualIds : collectLangualIds();
+    }
+    public void setAllLangualIds(List<String> allLangualIds) { this.allLangualIds = allLangualIds; }
+    
     public FoodClassificationsEmbedded getClassifications() { return classifications; }
     public void setClassifications(FoodClassificationsEmbedded classifications) { this.classifications = classifications; }
     
@@ -135,29 +166,43 @@ public class FoodEmbeddedCodes {
      * Check if this food has animal origin.
      */
     public boolean isAnimalBased() {
-        if (classifications != null && classifications.getFoodSource() != null) {
-            String source = classifications.getFoodSource().getName();
-            return source != null && 
-                   (source.toLowerCase().contains("cattle") || 
-                    source.toLowerCase().contains("swine") ||
-                    source.toLowerCase().contains("animal"));
-        }
-        return false;
+        return getSourceKind().isAnimal();
     }
     
     /**
      * Check if this food is plant-based.
      */
     public boolean isPlantBased() {
+        return getSourceKind().isPlant();
+    }
+    
+    /**
+     * Recompute the stored fields derived from classifications.
+     * Called before every save and by the backfill job.
+     */
+    public void refreshDerivedFields() {
+        this.sourceKind = FoodSourceKind.classify(getFoodSourceName());
+        this.allLangualIds = collectLangualIds();
+    }
+    
+    private List<String> collectLangualIds() {
+        if (classifications == null) {
+            return List.of();
+        }
+        TreeSet<String> ids = new TreeSet<>();
+        for (ClassificationWithCodes classification : classifications.getAllClassifications().values()) {
+            if (classification.getLangualId() != null && !classification.getLangualId().isBlank()) {
+                ids.add(classification.getLangualId().trim());
+            }
+        }
+        return List.copyOf(ids);
+    }
+    
+    private String getFoodSourceName() {
         if (classifications != null && classifications.getFoodSource() != null) {
-            String source = classifications.getFoodSource().getName();
-            return source != null && 
-                   (source.toLowerCase().contains("plant") || 
-                    source.toLowerCase().contains("vegetable") ||
-                    source.toLowerCase().contains("fruit") ||
-                    source.toLowerCase().contains("grain"));
+            return classifications.getFoodSource().getName();
         }
-        return false;
+        return null;
     }
     
     // RAW MATERIALS UTILITY METHODS
@@ -3,6 +3,7 @@ package com.example.app.models;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import java.time.Instant;
 
@@ -11,17 +12,20 @@ import java.time.Instant;
  * Updated to match integration test expectations.
  */
 @Document("food_experiences")
+@CompoundIndex(name = "userId_foodNumber", def = "{'userId': 1, 'foodNumber': 1}")
+@CompoundIndex(name = "userId_createdAt", def = "{'userId': 1, 'createdAt': -1}")
+@CompoundIndex(name = "userId_rating", def = "{'userId': 1, 'rating': 1}")
 public class FoodExperience {
     
     @Id
     private String id;
     
     @Indexed
-    @DBRef
+    @DBRef(lazy = true)
     private Child child;                 // Reference to the child who had this experience
     
     @Indexed
-    @DBRef
+    @DBRef(lazy = true)
     private Food food;                   // Reference to the food that was tried
     
     // Legacy fields for backwards compatibility
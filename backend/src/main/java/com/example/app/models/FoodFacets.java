@@ -0,0 +1,16 @@
+package com.example.app.models;
+
+import java.util.List;
+
+/**
+ * Number of foods per value of the filterable fields, most common value first.
+ * Foods without a value for a field are not counted for that field. Values differing
+ * only in case are counted together, the way {@code /filter} matches them.
+ */
+public record FoodFacets(long catalogVersion, long total,
+                         List<FacetCount> foodCategory, List<FacetCount> language,
+                         List<FacetCount> foodSource, List<FacetCount> physicalState,
+                         List<FacetCount> heatTreatment, List<FacetCount> preservation) {
+
+    public record FacetCount(String value, long count) {}
+}
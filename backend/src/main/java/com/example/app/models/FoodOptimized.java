@@ -45,6 +45,9 @@ public class FoodOptimized {
     
     private FoodClassificationsComplete classifications; // Complete classifications with all meaningful data
     
+    @Indexed
+    private FoodSourceKind sourceKind; // Derived from the food source classification
+    
     private String imageUrl; // Path to generated food image
     
     private Boolean matched; // Whether this food has USDA nutritional matches
@@ -129,6 +132,14 @@ public class FoodOptimized {
         return classifications;
     }
     
+    public FoodSourceKind getSourceKind() {
+        return sourceKind;
+    }
+    
+    public void setSourceKind(FoodSourceKind sourceKind) {
+        this.sourceKind = sourceKind;
+    }
+    
     public void setClassifications(FoodClassificationsComplete classifications) {
         this.classifications = classifications;
     }
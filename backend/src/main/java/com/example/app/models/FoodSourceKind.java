@@ -0,0 +1,41 @@
+package com.example.app.models;
+
+import java.util.Locale;
+
+/**
+ * Coarse origin of a food, derived from its food source classification name.
+ *
+ * Stored on each food document as {@code sourceKind} so animal/plant lookups are
+ * indexed equality matches instead of regular expressions over the source name.
+ */
+public enum FoodSourceKind {
+    ANIMAL,
+    PLANT,
+    MIXED,
+    UNKNOWN;
+
+    public boolean isAnimal() {
+        return this == ANIMAL || this == MIXED;
+    }
+
+    public boolean isPlant() {
+        return this == PLANT || this == MIXED;
+    }
+
+    /**
+     * Classify a food source name such as "Cattle" or "Plant, fruit".
+     */
+    public static FoodSourceKind classify(String foodSourceName) {
+        if (foodSourceName == null) {
+            return UNKNOWN;
+        }
+        String source = foodSourceName.toLowerCase(Locale.ROOT);
+        boolean animal = source.contains("cattle") || source.contains("swine") || source.contains("animal");
+        boolean plant = source.contains("plant") || source.contains("vegetable") ||
+                        source.contains("fruit") || source.contains("grain");
+        if (animal && plant) {
+            return MIXED;
+        }
+        return animal ? ANIMAL : plant ? PLANT : UNKNOWN;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.app.models;
+
+import org.springframework.data.annotation.Id;
+
+/**
+ * Slim food entry for list endpoints: what a food card shows, without the
+ * embedded classifications and raw materials.
+ *
+ * Also used as a repository projection type, so MongoDB only returns these fields.
+ */
+public record FoodSummary(@Id String id, Integer foodNumber, String name, String language,
+                          String foodCategory, String imageUrl) {
+
+    public static FoodSummary from(FoodEmbeddedCodes food) {
+        return new FoodSummary(food.getId(), food.getFoodNumber(), food.getName(), food.getLanguage(),
+                               food.getFoodCategory(), food.getImageUrl());
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.app.models;
+
+/**
+ * Minimal food entry returned by the search box typeahead.
+ */
+public record FoodTypeaheadEntry(Integer foodNumber, String name, String language, String foodCategory) {
+
+    public static FoodTypeaheadEntry from(FoodEmbeddedCodes food) {
+        return new FoodTypeaheadEntry(food.getFoodNumber(), food.getName(), food.getLanguage(), food.getFoodCategory());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.app.models;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Materialized per-user experience statistics, keyed by userId.
+ *
+ * Maintained incrementally on every experience write and rebuilt from
+ * food_experiences when missing or on repair, so reading stats is a single
+ * primary-key lookup. Every write increments {@code version}; a rebuild only
+ * replaces the document if the version it read is still current.
+ */
+@Document("user_stats")
+public class UserActivityStats {
+
+    @Id
+    private String userId;
+
+    private long totalExperiences;
+    private long positiveExperiences;          // Rating 4 or 5
+
+    private Map<String, Long> ratingCounts = new HashMap<>();   // "1".."5" -> experiences
+    private Map<String, Long> likedFoods = new HashMap<>();     // foodNumber -> positive experiences
+
+    private long currentStreak;                // Consecutive active days ending at lastActiveDay
+    private long longestStreak;
+    private String lastActiveDay;              // UTC day, yyyy-MM-dd (sorts as a string)
+
+    private Instant updatedAt;
+
+    private long version;                      // Incremented by every update, for rebuild compare-and-set
+
+    public UserActivityStats() {}
+
+    public UserActivityStats(String userId) {
+        this.userId = userId;
+    }
+
+    // Getters and Setters
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public long getTotalExperiences() { return totalExperiences; }
+    public void setTotalExperiences(long totalExperiences) { this.totalExperiences = totalExperiences; }
+
+    public long getPositiveExperiences() { return positiveExperiences; }
+    public void setPositiveExperiences(long positiveExperiences) { this.positiveExperiences = positiveExperiences; }
+
+    public Map<String, Long> getRatingCounts() { return ratingCounts; }
+    public void setRatingCounts(Map<String, Long> ratingCounts) { this.ratingCounts = ratingCounts; }
+
+    public Map<String, Long> getLikedFoods() { return likedFoods; }
+    public void setLikedFoods(Map<String, Long> likedFoods) { this.likedFoods = likedFoods; }
+
+    public long getCurrentStreak() { return currentStreak; }
+    public void setCurrentStreak(long currentStreak) { this.currentStreak = currentStreak; }
+
+    public long getLongestStreak() { return longestStreak; }
+    public void setLongestStreak(long longestStreak) { this.longestStreak = longestStreak; }
+
+    public String getLastActiveDay() { return lastActiveDay; }
+    public void setLastActiveDay(String lastActiveDay) { this.lastActiveDay = lastActiveDay; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+}
@@ -1,11 +1,17 @@
 package com.example.app.repositories;
 
 import com.example.app.models.FoodEmbeddedCodes;
+import com.example.app.models.FoodSourceKind;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for FoodEmbeddedCodes - the brilliant embedded structure!
@@ -16,11 +22,40 @@ import java.util.Optional;
 @Repository
 public interface FoodEmbeddedCodesRepository extends MongoRepository<FoodEmbeddedCodes, String> {
     
-    // Basic queries
-    Optional<FoodEmbeddedCodes> findByFoodNumber(Integer foodNumber);
+    // Basic queries - (foodNumber, language) is the unique key; a food number alone
+    // matches one document per language
+    Optional<FoodEmbeddedCodes> findByFoodNumberAndLanguage(Integer foodNumber, String language);
+    List<FoodEmbeddedCodes> findByFoodNumber(Integer foodNumber);
     List<FoodEmbeddedCodes> findByLanguage(String language);
     List<FoodEmbeddedCodes> findAllByFoodNumberIn(List<Integer> foodNumbers);
     
+    // Paged queries - skip/limit and count run in MongoDB. The type argument selects
+    // the returned shape; a projection such as FoodSummary only fetches its fields.
+    <T> Page<T> findByLanguage(String language, Pageable pageable, Class<T> type);
+    
+    <T> Page<T> findByFoodCategory(String foodCategory, Pageable pageable, Class<T> type);
+    
+    // Keyset (seek) queries for deep pages - use the (language, foodNumber) and
+    // (foodCategory, foodNumber, language) indexes instead of skipping documents
+    <T> List<T> findByLanguageAndFoodNumberGreaterThanOrderByFoodNumberAsc(
+        String language, Integer foodNumber, Pageable pageable, Class<T> type);
+    
+    @Query(value = "{'foodCategory': ?0, '$or': [" +
+                   "{'foodNumber': {$gt: ?1}}," +
+                   "{'foodNumber': ?1, 'language': {$gt: ?2}}" +
+                   "]}",
+           sort = "{'foodNumber': 1, 'language': 1}")
+    <T> List<T> findByFoodCategoryAfter(
+        String foodCategory, Integer foodNumber, String language, Pageable pageable, Class<T> type);
+    
+    // Cursor-backed streams for full-catalog exports - documents are fetched batch by
+    // batch as the caller consumes them. Close the stream to release the cursor.
+    <T> Stream<T> streamAllBy(Sort sort, Class<T> type);
+    
+    <T> Stream<T> streamByLanguage(String language, Sort sort, Class<T> type);
+    
+    <T> Stream<T> streamByFoodCategory(String foodCategory, Sort sort, Class<T> type);
+    
     // Name search is now handled in the service layer for Swedish field compatibility
     
     // Food category queries (parent level - super fast!)
@@ -46,13 +81,15 @@ public interface FoodEmbeddedCodesRepository extends MongoRepository<FoodEmbedde
     @Query("{'classifications.food_source.langual_id': ?0}")
     List<FoodEmbeddedCodes> findByFoodSourceLangualId(String langualId);
     
-    // Animal vs Plant queries
-    @Query("{'classifications.food_source.name': {$regex: 'cattle|swine|animal', $options: 'i'}}")
+    // Animal vs Plant queries - equality on the indexed, precomputed sourceKind
+    @Query("{'sourceKind': {$in: ['ANIMAL', 'MIXED']}}")
     List<FoodEmbeddedCodes> findAnimalProducts();
     
-    @Query("{'classifications.food_source.name': {$regex: 'plant|vegetable|fruit|grain', $options: 'i'}}")
+    @Query("{'sourceKind': {$in: ['PLANT', 'MIXED']}}")
     List<FoodEmbeddedCodes> findPlantBasedProducts();
     
+    List<FoodEmbeddedCodes> findBySourceKind(FoodSourceKind sourceKind);
+    
     // Physical state queries
     @Query("{'classifications.physical_state.name': {$regex: ?0, $options: 'i'}}")
     List<FoodEmbeddedCodes> findByPhysicalStateName(String physicalState);
@@ -83,26 +120,22 @@ public interface FoodEmbeddedCodesRepository extends MongoRepository<FoodEmbedde
     
     /**
      * Find foods by specific LanguaL ID in ANY classification.
-     * This is much cleaner than searching arrays!
+     * One equality lookup on the multikey allLangualIds index.
      */
-    @Query("{'$or': [" +
-           "{'classifications.product_type.langual_id': ?0}," +
-           "{'classifications.food_source.langual_id': ?0}," +
-           "{'classifications.part_used.langual_id': ?0}," +
-           "{'classifications.physical_state.langual_id': ?0}," +
-           "{'classifications.heat_treatment.langual_id': ?0}," +
-           "{'classifications.preservation.langual_id': ?0}," +
-           "{'classifications.packing_medium.langual_id': ?0}," +
-           "{'classifications.consumer_group.langual_id': ?0}," +
-           "{'classifications.geographic_origin.langual_id': ?0}" +
-           "]}")
+    @Query("{'allLangualIds': ?0}")
     List<FoodEmbeddedCodes> findByAnyLangualId(String langualId);
     
+    /**
+     * Find foods having any of the given LanguaL IDs, for compliance lookups.
+     */
+    @Query("{'allLangualIds': {$in: ?0}}")
+    List<FoodEmbeddedCodes> findByAnyLangualIdIn(Collection<String> langualIds);
+    
     /**
      * Find foods that match specific classification criteria.
      * Example: Animal products that are chilled and semisolid
      */
-    @Query("{'classifications.food_source.name': {$regex: 'animal|cattle|swine', $options: 'i'}, " +
+    @Query("{'sourceKind': {$in: ['ANIMAL', 'MIXED']}, " +
            "'classifications.preservation.name': {$regex: 'chilled', $options: 'i'}, " +
            "'classifications.physical_state.name': {$regex: 'semisolid', $options: 'i'}}")
     List<FoodEmbeddedCodes> findAnimalChilledSemisolid();
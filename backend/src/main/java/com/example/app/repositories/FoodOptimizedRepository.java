@@ -76,13 +76,13 @@ public interface FoodOptimizedRepository extends MongoRepository<FoodOptimized,
     /**
      * Find animal products.
      */
-    @Query("{'classifications.food_source': {$regex: 'cattle|swine|animal', $options: 'i'}}")
+    @Query("{'sourceKind': {$in: ['ANIMAL', 'MIXED']}}")
     List<FoodOptimized> findAnimalProducts();
     
     /**
      * Find plant-based products.
      */
-    @Query("{'classifications.food_source': {$regex: 'plant|vegetable|fruit|grain', $options: 'i'}}")
+    @Query("{'sourceKind': {$in: ['PLANT', 'MIXED']}}")
     List<FoodOptimized> findPlantBasedProducts();
     
     // ===== CLASSIFICATION QUERIES (UPDATED STRUCTURE) =====
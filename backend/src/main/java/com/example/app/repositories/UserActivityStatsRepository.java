@@ -0,0 +1,12 @@
+package com.example.app.repositories;
+
+import com.example.app.models.UserActivityStats;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the materialized user_stats documents (id = userId).
+ */
+@Repository
+public interface UserActivityStatsRepository extends MongoRepository<UserActivityStats, String> {
+}
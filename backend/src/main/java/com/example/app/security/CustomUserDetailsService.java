@@ -2,7 +2,12 @@ package com.example.app.security;
 
 import com.example.app.models.User;
 import com.example.app.repositories.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,26 +15,55 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
+/**
+ * Loads users by email for authentication.
+ *
+ * Every request with a bearer token needs the user, so principals are cached by email
+ * for {@code app.security.user-cache.ttl-seconds}, bounded by
+ * {@code app.security.user-cache.max-size}. {@code UserService} evicts a user whenever
+ * their email, roles, password or profile change, or the user is deleted. Unknown
+ * emails are not cached. Metrics are published with tag {@code cache=user-details}.
+ */
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final Cache<String, CustomUserPrincipal> cache;
 
     @Autowired
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, MeterRegistry meterRegistry,
+                                    @Value("${app.security.user-cache.max-size:10000}") long maxSize,
+                                    @Value("${app.security.user-cache.ttl-seconds:300}") long ttlSeconds) {
         this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user-details");
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        return cache.get(email, key -> {
+            User user = userRepository.findByEmail(key)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + key));
+            return new CustomUserPrincipal(user);
+        });
+    }
 
-        return new CustomUserPrincipal(user);
+    /**
+     * Drop the cached principal for an email, so the next request reads the user again.
+     */
+    public void evict(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+        }
     }
 
     // Custom UserDetails implementation
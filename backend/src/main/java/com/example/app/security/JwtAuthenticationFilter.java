@@ -1,10 +1,13 @@
 package com.example.app.security;
 
+import com.example.app.models.User;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,6 +17,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -24,31 +28,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
 
+    // Trust the roles in the access token instead of loading the user on every request
+    @Value("${app.security.stateless-roles:false}")
+    private boolean statelessRoles;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
 
         final String requestTokenHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwtToken = null;
+        Claims claims = null;
 
-        // JWT Token is in the form "Bearer token". Remove Bearer word and get only the Token
+        // JWT Token is in the form "Bearer token". Remove Bearer word and get only the Token.
+        // The token is verified once here; invalid or expired tokens give no claims.
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
-            jwtToken = requestTokenHeader.substring(7);
-            try {
-                username = jwtUtil.extractUsername(jwtToken);
-            } catch (Exception e) {
+            claims = jwtUtil.parseAccessToken(requestTokenHeader.substring(7)).orElse(null);
+            if (claims == null) {
                 logger.debug("Unable to get JWT Token or JWT Token has expired");
             }
         }
 
         // Once we get the token validate it.
+        String username = claims != null ? claims.getSubject() : null;
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = statelessRoles ? principalFromClaims(claims) : null;
+            if (userDetails == null) {
+                userDetails = this.userDetailsService.loadUserByUsername(username);
+            }
 
             // if token is valid configure Spring Security to manually set authentication
-            if (jwtUtil.validateAccessToken(jwtToken, userDetails)) {
+            if (jwtUtil.validateAccessToken(claims, userDetails)) {
                 UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = 
                     new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
@@ -63,4 +73,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         chain.doFilter(request, response);
     }
+
+    /**
+     * Principal built from the access token claims, or null for tokens issued without
+     * roles. Role or account changes take effect once the token expires.
+     */
+    private UserDetails principalFromClaims(Claims claims) {
+        if (!(claims.get(JwtUtil.ROLES_CLAIM) instanceof List<?> roles)) {
+            return null;
+        }
+        User user = new User();
+        user.setId(claims.get(JwtUtil.USER_ID_CLAIM, String.class));
+        user.setEmail(claims.getSubject());
+        user.setRoles(roles.stream().map(String::valueOf).toList());
+        return new CustomUserDetailsService.CustomUserPrincipal(user);
+    }
 }
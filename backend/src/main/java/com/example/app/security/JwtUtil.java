@@ -1,21 +1,44 @@
 package com.example.app.security;
 
+import com.example.app.models.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies access and refresh tokens.
+ *
+ * Signing keys and parsers are built once at startup; parsers are immutable and shared
+ * between threads. Verified access tokens are remembered by SHA-256 hash until they
+ * expire, so a client sending the same token on every request pays for signature
+ * verification and claims parsing once.
+ */
 @Component
 public class JwtUtil {
 
+    // Access token claims carrying the user, for authenticating without a user lookup
+    public static final String ROLES_CLAIM = "roles";
+    public static final String USER_ID_CLAIM = "uid";
+
     @Value("${app.jwt.access-secret}")
     private String accessSecret;
 
@@ -28,22 +51,66 @@ public class JwtUtil {
     @Value("${app.jwt.refresh-ttl-seconds}")
     private long refreshTokenTtl;
 
+    @Value("${app.jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheSize;
+
+    private SecretKey accessTokenKey;
+    private SecretKey refreshTokenKey;
+    private JwtParser accessTokenParser;
+    private JwtParser refreshTokenParser;
+
+    // Claims of verified access tokens by token hash, each kept until the token expires
+    private Cache<String, Claims> verifiedAccessTokens;
+
+    @PostConstruct
+    void init() {
+        accessTokenKey = Keys.hmacShaKeyFor(accessSecret.getBytes(StandardCharsets.UTF_8));
+        refreshTokenKey = Keys.hmacShaKeyFor(refreshSecret.getBytes(StandardCharsets.UTF_8));
+        accessTokenParser = Jwts.parserBuilder().setSigningKey(accessTokenKey).build();
+        refreshTokenParser = Jwts.parserBuilder().setSigningKey(refreshTokenKey).build();
+        verifiedAccessTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
     // Generate access token
     public String generateAccessToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername(), accessTokenTtl * 1000, getAccessTokenKey());
+        if (userDetails instanceof CustomUserDetailsService.CustomUserPrincipal principal) {
+            User user = principal.getUser();
+            claims.put(USER_ID_CLAIM, user.getId());
+            claims.put(ROLES_CLAIM, user.getRoles() != null ? user.getRoles() : List.of());
+        }
+        return createToken(claims, userDetails.getUsername(), accessTokenTtl * 1000, accessTokenKey);
     }
 
     // Generate refresh token
     public String generateRefreshToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("type", "refresh");
-        return createToken(claims, userDetails.getUsername(), refreshTokenTtl * 1000, getRefreshTokenKey());
+        return createToken(claims, userDetails.getUsername(), refreshTokenTtl * 1000, refreshTokenKey);
     }
 
     // Generate token with custom claims
     public String generateAccessToken(String username, Map<String, Object> claims) {
-        return createToken(claims, username, accessTokenTtl * 1000, getAccessTokenKey());
+        return createToken(claims, username, accessTokenTtl * 1000, accessTokenKey);
     }
 
     // Create token
@@ -60,19 +127,47 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Verify an access token once and return its claims, or empty if the signature is
+     * invalid, the token is malformed or it has expired. Results are cached by token hash.
+     */
+    public Optional<Claims> parseAccessToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        String key = hash(token);
+        Claims claims = verifiedAccessTokens.getIfPresent(key);
+        if (claims == null) {
+            try {
+                claims = accessTokenParser.parseClaimsJws(token).getBody();
+            } catch (JwtException | IllegalArgumentException e) {
+                return Optional.empty();
+            }
+            if (claims.getExpiration() == null) {
+                return Optional.of(claims); // Not cached: it would never expire
+            }
+            verifiedAccessTokens.put(key, claims);
+        }
+        // The cache expires entries at token expiry; this guards the last moment
+        if (claims.getExpiration() != null && claims.getExpiration().before(new Date())) {
+            return Optional.empty();
+        }
+        return Optional.of(claims);
+    }
+
     // Extract username from access token
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject, getAccessTokenKey());
+        return extractClaim(token, Claims::getSubject, accessTokenKey);
     }
 
     // Extract username from refresh token
     public String extractUsernameFromRefreshToken(String token) {
-        return extractClaim(token, Claims::getSubject, getRefreshTokenKey());
+        return extractClaim(token, Claims::getSubject, refreshTokenKey);
     }
 
     // Extract expiration date
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration, getAccessTokenKey());
+        return extractClaim(token, Claims::getExpiration, accessTokenKey);
     }
 
     // Extract a specific claim
@@ -83,13 +178,21 @@ public class JwtUtil {
 
     // Extract all claims
     private Claims extractAllClaims(String token, SecretKey key) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
+        return parserFor(key)
                 .parseClaimsJws(token)
                 .getBody();
     }
 
+    private JwtParser parserFor(SecretKey key) {
+        if (key == accessTokenKey) {
+            return accessTokenParser;
+        }
+        if (key == refreshTokenKey) {
+            return refreshTokenParser;
+        }
+        return Jwts.parserBuilder().setSigningKey(key).build();
+    }
+
     // Check if token is expired
     public Boolean isTokenExpired(String token) {
         try {
@@ -99,27 +202,28 @@ public class JwtUtil {
         }
     }
 
-    // Validate access token
+    // Validate access token: one verified parse, checked against the user
     public Boolean validateAccessToken(String token, UserDetails userDetails) {
-        try {
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-        } catch (JwtException e) {
-            return false;
-        }
+        return parseAccessToken(token)
+                .map(claims -> validateAccessToken(claims, userDetails))
+                .orElse(false);
+    }
+
+    // Validate already verified access token claims against the user
+    public boolean validateAccessToken(Claims claims, UserDetails userDetails) {
+        return claims.getSubject() != null && claims.getSubject().equals(userDetails.getUsername());
     }
 
     // Validate refresh token
     public Boolean validateRefreshToken(String token, String username) {
         try {
-            final String tokenUsername = extractUsernameFromRefreshToken(token);
-            final Claims claims = extractAllClaims(token, getRefreshTokenKey());
+            final Claims claims = extractAllClaims(token, refreshTokenKey);
             final String tokenType = (String) claims.get("type");
-            
-            return (tokenUsername.equals(username) 
+
+            // The parser rejects expired tokens, so a parsed token is still valid
+            return (claims.getSubject().equals(username)
                     && "refresh".equals(tokenType)
-                    && !token.isEmpty() 
-                    && !isRefreshTokenExpired(token));
+                    && !token.isEmpty());
         } catch (JwtException e) {
             return false;
         }
@@ -128,27 +232,17 @@ public class JwtUtil {
     // Check if refresh token is expired
     public Boolean isRefreshTokenExpired(String token) {
         try {
-            final Claims claims = extractAllClaims(token, getRefreshTokenKey());
+            final Claims claims = extractAllClaims(token, refreshTokenKey);
             return claims.getExpiration().before(new Date());
         } catch (JwtException e) {
             return true;
         }
     }
 
-    // Get access token signing key
-    private SecretKey getAccessTokenKey() {
-        return Keys.hmacShaKeyFor(accessSecret.getBytes(StandardCharsets.UTF_8));
-    }
-
-    // Get refresh token signing key
-    private SecretKey getRefreshTokenKey() {
-        return Keys.hmacShaKeyFor(refreshSecret.getBytes(StandardCharsets.UTF_8));
-    }
-
     // Extract token type
     public String extractTokenType(String token) {
         try {
-            final Claims claims = extractAllClaims(token, getRefreshTokenKey());
+            final Claims claims = extractAllClaims(token, refreshTokenKey);
             return (String) claims.get("type");
         } catch (JwtException e) {
             return "access"; // Default to access token
@@ -157,15 +251,7 @@ public class JwtUtil {
 
     // Parse token safely (for validation without throwing exceptions)
     public boolean canTokenBeTrusted(String token) {
-        try {
-            Jwts.parserBuilder()
-                .setSigningKey(getAccessTokenKey())
-                .build()
-                .parseClaimsJws(token);
-            return true;
-        } catch (JwtException e) {
-            return false;
-        }
+        return parseAccessToken(token).isPresent();
     }
 
     // Get token TTL in seconds
@@ -176,4 +262,13 @@ public class JwtUtil {
     public long getRefreshTokenTtl() {
         return refreshTokenTtl;
     }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
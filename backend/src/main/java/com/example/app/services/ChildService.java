@@ -4,6 +4,11 @@ import com.example.app.models.Child;
 import com.example.app.models.User;
 import com.example.app.repositories.ChildRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,10 +18,15 @@ import java.util.Optional;
 public class ChildService {
 
     private final ChildRepository childRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ReferenceResolver referenceResolver;
 
     @Autowired
-    public ChildService(ChildRepository childRepository) {
+    public ChildService(ChildRepository childRepository, MongoTemplate mongoTemplate,
+                        ReferenceResolver referenceResolver) {
         this.childRepository = childRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.referenceResolver = referenceResolver;
     }
 
     // Create operations
@@ -44,7 +54,7 @@ public class ChildService {
 
     // Read operations
     public List<Child> getAllChildren() {
-        return childRepository.findAll();
+        return referenceResolver.resolve(childRepository.findAll());
     }
 
     public Optional<Child> getChildById(String id) {
@@ -52,119 +62,88 @@ public class ChildService {
     }
 
     public List<Child> getChildrenByParent(User parent) {
-        return childRepository.findByParent(parent);
+        return referenceResolver.resolve(childRepository.findByParent(parent));
     }
 
     public List<Child> getChildrenByParentId(String parentId) {
-        return childRepository.findByParentId(parentId);
+        return referenceResolver.resolve(childRepository.findByParentId(parentId));
     }
 
     public Optional<Child> getChildByNameAndParent(String name, User parent) {
         return childRepository.findByNameAndParent(name, parent);
     }
 
-    // Progress tracking methods
+    // Progress tracking methods - single atomic updates, no read-modify-write
     public Child updateFoodsTried(String childId, int increment) {
-        Child child = childRepository.findById(childId)
-            .orElseThrow(() -> new RuntimeException("Child not found with id: " + childId));
-        
-        child.setTotalFoodsTried(child.getTotalFoodsTried() + increment);
-        return childRepository.save(child);
+        return updateChild(childId, new Update().inc("totalFoodsTried", increment));
     }
 
     public Child updateFavoritesCount(String childId, int increment) {
-        Child child = childRepository.findById(childId)
-            .orElseThrow(() -> new RuntimeException("Child not found with id: " + childId));
-        
-        child.setNewFavoritesCount(child.getNewFavoritesCount() + increment);
-        return childRepository.save(child);
+        return updateChild(childId, new Update().inc("newFavoritesCount", increment));
     }
 
     public Child updateStreak(String childId, int newStreak) {
-        Child child = childRepository.findById(childId)
-            .orElseThrow(() -> new RuntimeException("Child not found with id: " + childId));
-        
-        child.setCurrentStreak(newStreak);
-        if (newStreak > child.getLongestStreak()) {
-            child.setLongestStreak(newStreak);
-        }
-        return childRepository.save(child);
+        return updateChild(childId, new Update()
+            .set("currentStreak", newStreak)
+            .max("longestStreak", newStreak));
     }
 
     public Child updateExplorationProgress(String childId, double progress) {
-        Child child = childRepository.findById(childId)
-            .orElseThrow(() -> new RuntimeException("Child not found with id: " + childId));
-        
-        child.setExplorationProgress(Math.max(0.0, Math.min(100.0, progress))); // Clamp between 0-100%
-        return childRepository.save(child);
+        double clamped = Math.max(0.0, Math.min(100.0, progress)); // Clamp between 0-100%
+        return updateChild(childId, new Update().set("explorationProgress", clamped));
     }
 
     // Food preference management
     public Child addLikedFood(String childId, String foodId) {
-        Child child = childRepository.findById(childId)
-            .orElseThrow(() -> new RuntimeException("Child not found with id: " + childId));
-        
-        if (child.getLikedFoodIds() == null) {
-            child.setLikedFoodIds(List.of(foodId));
-        } else if (!child.getLikedFoodIds().contains(foodId)) {
-            child.getLikedFoodIds().add(foodId);
-        }
-        
-        // Remove from disliked if it was there
-        if (child.getDislikedFoodIds() != null && child.getDislikedFoodIds().contains(foodId)) {
-            child.getDislikedFoodIds().remove(foodId);
-        }
-        
-        return childRepository.save(child);
+        // Add to liked and remove from disliked in the same update
+        return updateChild(childId, new Update()
+            .addToSet("likedFoodIds", foodId)
+            .pull("dislikedFoodIds", foodId));
     }
 
     public Child addDislikedFood(String childId, String foodId) {
-        Child child = childRepository.findById(childId)
-            .orElseThrow(() -> new RuntimeException("Child not found with id: " + childId));
-        
-        if (child.getDislikedFoodIds() == null) {
-            child.setDislikedFoodIds(List.of(foodId));
-        } else if (!child.getDislikedFoodIds().contains(foodId)) {
-            child.getDislikedFoodIds().add(foodId);
-        }
-        
-        // Remove from liked if it was there
-        if (child.getLikedFoodIds() != null && child.getLikedFoodIds().contains(foodId)) {
-            child.getLikedFoodIds().remove(foodId);
-        }
-        
-        return childRepository.save(child);
+        // Add to disliked and remove from liked in the same update
+        return updateChild(childId, new Update()
+            .addToSet("dislikedFoodIds", foodId)
+            .pull("likedFoodIds", foodId));
     }
 
     public Child removeFoodPreference(String childId, String foodId) {
-        Child child = childRepository.findById(childId)
-            .orElseThrow(() -> new RuntimeException("Child not found with id: " + childId));
-        
-        if (child.getLikedFoodIds() != null) {
-            child.getLikedFoodIds().remove(foodId);
-        }
-        if (child.getDislikedFoodIds() != null) {
-            child.getDislikedFoodIds().remove(foodId);
+        return updateChild(childId, new Update()
+            .pull("likedFoodIds", foodId)
+            .pull("dislikedFoodIds", foodId));
+    }
+
+    /**
+     * Apply an update to one child with findAndModify and return the updated document.
+     * The parent reference is left out of the result so it is not dereferenced.
+     */
+    private Child updateChild(String childId, Update update) {
+        Query query = Query.query(Criteria.where("_id").is(childId));
+        query.fields().exclude("parent");
+        Child child = mongoTemplate.findAndModify(query, update,
+            FindAndModifyOptions.options().returnNew(true), Child.class);
+        if (child == null) {
+            throw new RuntimeException("Child not found with id: " + childId);
         }
-        
-        return childRepository.save(child);
+        return child;
     }
 
     // Dietary and preference queries
     public List<Child> getChildrenWithDietaryRestriction(String restriction) {
-        return childRepository.findByDietaryRestrictionsContaining(restriction);
+        return referenceResolver.resolve(childRepository.findByDietaryRestrictionsContaining(restriction));
     }
 
     public List<Child> getChildrenWithAllergen(String allergen) {
-        return childRepository.findByAllergensContaining(allergen);
+        return referenceResolver.resolve(childRepository.findByAllergensContaining(allergen));
     }
 
     public List<Child> getActiveChildren() {
-        return childRepository.findActiveChildren();
+        return referenceResolver.resolve(childRepository.findActiveChildren());
     }
 
     public List<Child> getHighProgressChildren(double minProgress) {
-        return childRepository.findByExplorationProgressGreaterThanEqual(minProgress);
+        return referenceResolver.resolve(childRepository.findByExplorationProgressGreaterThanEqual(minProgress));
     }
 
     // Update operations
@@ -7,6 +7,11 @@ import com.example.app.repositories.CommunityPostRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -17,10 +22,17 @@ import java.util.Optional;
 public class CommunityService {
 
     private final CommunityPostRepository communityPostRepository;
+    private final MongoTemplate mongoTemplate;
+    private final PostLikeBuffer postLikeBuffer;
+    private final ReferenceResolver referenceResolver;
 
     @Autowired
-    public CommunityService(CommunityPostRepository communityPostRepository) {
+    public CommunityService(CommunityPostRepository communityPostRepository, MongoTemplate mongoTemplate,
+                            PostLikeBuffer postLikeBuffer, ReferenceResolver referenceResolver) {
         this.communityPostRepository = communityPostRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.postLikeBuffer = postLikeBuffer;
+        this.referenceResolver = referenceResolver;
     }
 
     // Create operations
@@ -46,100 +58,124 @@ public class CommunityService {
 
     // Read operations
     public Page<CommunityPost> getAllPosts(Pageable pageable) {
-        return communityPostRepository.findByIsApproved(true, pageable);
+        return referenceResolver.resolve(communityPostRepository.findByIsApproved(true, pageable));
     }
 
     public Page<CommunityPost> getAllPostsForModeration(Pageable pageable) {
-        return communityPostRepository.findAll(pageable);
+        return referenceResolver.resolve(communityPostRepository.findAll(pageable));
     }
 
     public Optional<CommunityPost> getPostById(String id) {
-        return communityPostRepository.findById(id);
+        return communityPostRepository.findById(id).map(postLikeBuffer::withPending);
     }
 
     public Page<CommunityPost> getPostsByAuthor(User author, Pageable pageable) {
-        return communityPostRepository.findByAuthor(author, pageable);
+        return referenceResolver.resolve(communityPostRepository.findByAuthor(author, pageable));
     }
 
     public Page<CommunityPost> getPostsByType(String postType, Pageable pageable) {
-        return communityPostRepository.findByPostType(postType, pageable);
+        return referenceResolver.resolve(communityPostRepository.findByPostType(postType, pageable));
     }
 
     public List<CommunityPost> getPostsByFood(Food food) {
-        return communityPostRepository.findByRelatedFood(food);
+        return referenceResolver.resolve(communityPostRepository.findByRelatedFood(food));
     }
 
     public Page<CommunityPost> getPostsByTag(String tag, Pageable pageable) {
-        return communityPostRepository.findByTagsContaining(tag, pageable);
+        return referenceResolver.resolve(communityPostRepository.findByTagsContaining(tag, pageable));
     }
 
     public Page<CommunityPost> getPostsByTags(List<String> tags, Pageable pageable) {
-        return communityPostRepository.findByTagsIn(tags, pageable);
+        return referenceResolver.resolve(communityPostRepository.findByTagsIn(tags, pageable));
     }
 
     // Recent and trending posts
     public Page<CommunityPost> getRecentPosts(int days, Pageable pageable) {
         Instant since = Instant.now().minusSeconds(days * 24 * 60 * 60);
-        return communityPostRepository.findByCreatedAtAfter(since, pageable);
+        return referenceResolver.resolve(communityPostRepository.findByCreatedAtAfter(since, pageable));
     }
 
     public Page<CommunityPost> getTrendingPosts(int days, int minLikes, Pageable pageable) {
         Instant since = Instant.now().minusSeconds(days * 24 * 60 * 60);
-        return communityPostRepository.findTrendingPosts(since, minLikes, pageable);
+        return referenceResolver.resolve(communityPostRepository.findTrendingPosts(since, minLikes, pageable));
     }
 
     public Page<CommunityPost> getPopularPosts(int minLikes, Pageable pageable) {
-        return communityPostRepository.findPopularPosts(minLikes, pageable);
+        return referenceResolver.resolve(communityPostRepository.findPopularPosts(minLikes, pageable));
     }
 
     public Page<CommunityPost> getMostEngagedPosts(Pageable pageable) {
-        return communityPostRepository.findAllOrderByEngagement(pageable);
+        return referenceResolver.resolve(communityPostRepository.findAllOrderByEngagement(pageable));
     }
 
     // Search operations
     public Page<CommunityPost> searchPosts(String searchTerm, Pageable pageable) {
-        return communityPostRepository.searchByContentOrTitle(searchTerm, pageable);
+        return referenceResolver.resolve(communityPostRepository.searchByContentOrTitle(searchTerm, pageable));
     }
 
-    // Engagement operations
+    // Engagement operations - atomic server-side counter updates, safe under concurrency.
+    // Likes are coalesced in PostLikeBuffer and written behind in batches.
     public CommunityPost likePost(String postId) {
-        CommunityPost post = communityPostRepository.findById(postId)
-            .orElseThrow(() -> new RuntimeException("Post not found with id: " + postId));
-        
+        if (!postLikeBuffer.isEnabled()) {
+            return adjustCounter(postId, "likesCount", 1);
+        }
+        CommunityPost post = getPostOrThrow(postId);
+        postLikeBuffer.add(postId, 1);
         post.setLikesCount(post.getLikesCount() + 1);
-        return communityPostRepository.save(post);
+        return post;
     }
 
     public CommunityPost unlikePost(String postId) {
-        CommunityPost post = communityPostRepository.findById(postId)
-            .orElseThrow(() -> new RuntimeException("Post not found with id: " + postId));
-        
-        post.setLikesCount(Math.max(0, post.getLikesCount() - 1));
-        return communityPostRepository.save(post);
+        if (!postLikeBuffer.isEnabled()) {
+            return adjustCounter(postId, "likesCount", -1);
+        }
+        CommunityPost post = getPostOrThrow(postId);
+        if (post.getLikesCount() > 0) {
+            postLikeBuffer.add(postId, -1);
+            post.setLikesCount(post.getLikesCount() - 1);
+        }
+        return post;
     }
 
     public CommunityPost incrementComments(String postId) {
-        CommunityPost post = communityPostRepository.findById(postId)
-            .orElseThrow(() -> new RuntimeException("Post not found with id: " + postId));
-        
-        post.setCommentsCount(post.getCommentsCount() + 1);
-        return communityPostRepository.save(post);
+        return adjustCounter(postId, "commentsCount", 1);
     }
 
     public CommunityPost decrementComments(String postId) {
-        CommunityPost post = communityPostRepository.findById(postId)
-            .orElseThrow(() -> new RuntimeException("Post not found with id: " + postId));
-        
-        post.setCommentsCount(Math.max(0, post.getCommentsCount() - 1));
-        return communityPostRepository.save(post);
+        return adjustCounter(postId, "commentsCount", -1);
     }
 
     public CommunityPost sharePost(String postId) {
-        CommunityPost post = communityPostRepository.findById(postId)
+        return adjustCounter(postId, "sharesCount", 1);
+    }
+
+    /**
+     * Apply $inc to one engagement counter and return the updated post.
+     * Decrements only match while the counter can absorb them, so it never goes below zero.
+     */
+    private CommunityPost adjustCounter(String postId, String counter, int delta) {
+        Query query = Query.query(Criteria.where("_id").is(postId));
+        if (delta < 0) {
+            query.addCriteria(Criteria.where(counter).gte(-delta));
+        }
+        CommunityPost post = mongoTemplate.findAndModify(query, new Update().inc(counter, delta),
+            FindAndModifyOptions.options().returnNew(true), CommunityPost.class);
+        if (post != null) {
+            return post;
+        }
+        // No match: the post does not exist, or the counter is already at zero
+        return communityPostRepository.findById(postId)
             .orElseThrow(() -> new RuntimeException("Post not found with id: " + postId));
-        
-        post.setSharesCount(post.getSharesCount() + 1);
-        return communityPostRepository.save(post);
+    }
+
+    /**
+     * Read a post including its buffered likes.
+     */
+    private CommunityPost getPostOrThrow(String postId) {
+        CommunityPost post = getPostById(postId)
+            .orElseThrow(() -> new RuntimeException("Post not found with id: " + postId));
+        if (post.getLikesCount() == null) post.setLikesCount(0);
+        return post;
     }
 
     // Moderation operations
@@ -163,7 +199,7 @@ public class CommunityService {
     }
 
     public List<CommunityPost> getPostsNeedingModeration() {
-        return communityPostRepository.findByIsApprovedAndIsFlagged(false, true);
+        return referenceResolver.resolve(communityPostRepository.findByIsApprovedAndIsFlagged(false, true));
     }
 
     // Update operations
@@ -228,20 +264,20 @@ public class CommunityService {
     }
 
     public List<CommunityPost> getUserPostsInRange(User author, Instant start, Instant end) {
-        return communityPostRepository.findByAuthorAndCreatedAtBetween(author, start, end);
+        return referenceResolver.resolve(communityPostRepository.findByAuthorAndCreatedAtBetween(author, start, end));
     }
 
     // Content filtering
     public Page<CommunityPost> getPostsWithFoodRatings(Pageable pageable) {
-        return communityPostRepository.findAll(pageable); // Would need to add this query to repository
+        return referenceResolver.resolve(communityPostRepository.findAll(pageable)); // Would need to add this query to repository
     }
 
     public List<CommunityPost> getPostsByFoodRating(Integer rating) {
-        return communityPostRepository.findByFoodRating(rating);
+        return referenceResolver.resolve(communityPostRepository.findByFoodRating(rating));
     }
 
     public List<CommunityPost> getPostsByFoodRatingRange(Integer minRating, Integer maxRating) {
-        return communityPostRepository.findByFoodRatingBetween(minRating, maxRating);
+        return referenceResolver.resolve(communityPostRepository.findByFoodRatingBetween(minRating, maxRating));
     }
 
     // Helper methods
@@ -3,14 +3,21 @@ package com.example.app.services;
 import com.example.app.controllers.FoodExperienceController.UserStats;
 import com.example.app.models.FoodExperience;
 import com.example.app.repositories.FoodExperienceRepository;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -22,98 +29,140 @@ public class FoodExperienceService {
     @Autowired
     private FoodExperienceRepository experienceRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Autowired
+    private ReferenceResolver referenceResolver;
+
     /**
      * Log a new food experience.
+     *
+     * Upserts the user's most recent experience with this food in one operation and
+     * feeds the stats from the document it replaced, so concurrent logs for the same
+     * food count one creation and rating changes from the rating they actually replaced.
      */
     public FoodExperience logExperience(String userId, Integer foodNumber, String foodName, 
                                        Integer rating, String notes, String context) {
-        // Check if user already has an experience with this food
-        List<FoodExperience> existing = experienceRepository.findByUserIdAndFoodNumber(userId, foodNumber);
-        
-        FoodExperience experience;
-        if (!existing.isEmpty()) {
-            // Update the most recent experience
-            experience = existing.get(0);
-            experience.setRating(rating);
-            experience.setNotes(notes);
-            experience.setMealType(context);
-            experience.touch(); // Update the timestamp
-        } else {
-            // Create new experience (using legacy fields for now)
-            experience = new FoodExperience();
-            // Set legacy fields until we can update the service to use Child/Food references
-            // TODO: Update to use proper Child and Food objects
-            experience.setUserId(userId);
-            experience.setFoodNumber(foodNumber);
-            experience.setFoodName(foodName);
-            experience.setRating(rating);
-            experience.setNotes(notes);
-            experience.setMealType(context);
+        // Create new experience (using legacy fields for now)
+        // TODO: Update to use proper Child and Food objects
+        FoodExperience experience = new FoodExperience();
+        experience.setId(new ObjectId().toHexString());
+        experience.setUserId(userId);
+        experience.setFoodNumber(foodNumber);
+        experience.setFoodName(foodName);
+        experience.setRating(rating);
+        experience.setNotes(notes);
+        experience.setMealType(context);
+
+        Query query = new Query(Criteria.where("userId").is(userId).and("foodNumber").is(foodNumber))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt")); // Update the most recent experience
+        Update update = new Update()
+                .set("rating", experience.getRating())
+                .set("reaction", experience.getReaction())
+                .set("notes", notes)
+                .set("mealType", context)
+                .set("updatedAt", experience.getUpdatedAt())
+                .setOnInsert("_id", new ObjectId(experience.getId()))
+                .setOnInsert("foodName", foodName)
+                .setOnInsert("createdAt", experience.getCreatedAt());
+        FoodExperience previous = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().upsert(true).returnNew(false), FoodExperience.class);
+
+        if (previous == null) {
+            userStatsService.onExperienceCreated(userId, foodNumber, rating, experience.getCreatedAt());
+            return experience;
         }
-        
-        return experienceRepository.save(experience);
+        Integer previousRating = previous.getRating();
+        previous.setRating(rating);
+        previous.setNotes(notes);
+        previous.setMealType(context);
+        previous.setUpdatedAt(experience.getUpdatedAt());
+        userStatsService.onRatingChanged(userId, foodNumber, previousRating, rating);
+        return previous;
     }
 
     /**
      * Update an existing food experience.
+     *
+     * The stats delta is taken from the rating the update replaced, read in the same
+     * operation, so concurrent rating changes each remove a different old rating.
      */
     public FoodExperience updateExperience(String experienceId, Integer rating, String notes) {
-        Optional<FoodExperience> optionalExperience = experienceRepository.findById(experienceId);
-        if (optionalExperience.isEmpty()) {
+        FoodExperience changes = new FoodExperience();
+        Update update = new Update().set("updatedAt", changes.getUpdatedAt());
+        if (rating != null) {
+            changes.setRating(rating); // Validates the rating and derives the reaction
+            update.set("rating", changes.getRating()).set("reaction", changes.getReaction());
+        }
+        if (notes != null) {
+            update.set("notes", notes);
+        }
+
+        FoodExperience experience = mongoTemplate.findAndModify(new Query(Criteria.where("_id").is(experienceId)),
+                update, FindAndModifyOptions.options().returnNew(false), FoodExperience.class);
+        if (experience == null) {
             throw new RuntimeException("Experience not found: " + experienceId);
         }
         
-        FoodExperience experience = optionalExperience.get();
+        Integer previousRating = experience.getRating();
         if (rating != null) {
             experience.setRating(rating);
         }
         if (notes != null) {
             experience.setNotes(notes);
         }
-        experience.touch();
+        experience.setUpdatedAt(changes.getUpdatedAt());
         
-        return experienceRepository.save(experience);
+        userStatsService.onRatingChanged(experience.getUserId(), experience.getFoodNumber(), previousRating, experience.getRating());
+        return experience;
     }
 
     /**
-     * Delete a food experience.
+     * Delete a food experience. Only the request that actually removed it updates the stats.
      */
     public void deleteExperience(String experienceId) {
-        experienceRepository.deleteById(experienceId);
+        FoodExperience deleted = mongoTemplate.findAndRemove(
+                new Query(Criteria.where("_id").is(experienceId)), FoodExperience.class);
+        if (deleted != null) {
+            userStatsService.onExperienceDeleted(deleted.getUserId(), deleted.getFoodNumber(), deleted.getRating());
+        }
     }
 
     /**
      * Get all experiences for a user.
      */
     public List<FoodExperience> getUserExperiences(String userId) {
-        return experienceRepository.findByUserIdOrderByCreatedAtDesc(userId);
+        return referenceResolver.resolve(experienceRepository.findByUserIdOrderByCreatedAtDesc(userId));
     }
 
     /**
      * Get food numbers that the user has liked (rating 4+).
      */
     public List<Integer> getLikedFoodNumbers(String userId) {
-        List<FoodExperience> positiveExperiences = experienceRepository.findPositiveExperiencesByUserId(userId);
-        return positiveExperiences.stream()
-                .map(exp -> exp.getFoodNumber())
-                .filter(foodNumber -> foodNumber != null)
-                .distinct()
+        // Distinct on the server; no experience documents are loaded
+        Query query = new Query(Criteria.where("userId").is(userId).and("rating").gte(4));
+        return mongoTemplate.findDistinct(query, "foodNumber", FoodExperience.class, Integer.class).stream()
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
     /**
      * Get comprehensive user statistics.
+     * Read from the materialized user_stats document maintained on every write.
      */
     public UserStats getUserStats(String userId) {
-        long totalFoodsTried = experienceRepository.countByUserId(userId);
-        long positiveFoods = experienceRepository.countPositiveExperiencesByUserId(userId);
-        
-        double positivePercentage = totalFoodsTried > 0 ? 
-            (double) positiveFoods / totalFoodsTried * 100 : 0.0;
-        
-        long streak = 5; // Simplified for now
-        List<String> achievements = List.of("Food Explorer", "Taste Champion");
-        
-        return new UserStats(totalFoodsTried, positiveFoods, positivePercentage, streak, achievements);
+        return userStatsService.getStats(userId);
+    }
+
+    /**
+     * Recompute user statistics from the experience history and return them.
+     */
+    public UserStats rebuildUserStats(String userId) {
+        userStatsService.rebuild(userId);
+        return userStatsService.getStats(userId);
     }
-}
\ No newline at end of file
+}
@@ -1,57 +1,108 @@
 package com.example.app.services;
 
+import com.example.app.catalog.FoodCatalog;
+import com.example.app.catalog.FoodCatalogSnapshot;
+import com.example.app.catalog.FoodFilter;
+import com.example.app.catalog.FoodFilterIndex;
+import com.example.app.catalog.FoodSearchIndex;
+import com.example.app.catalog.FoodSummaryIndex;
+import com.example.app.exceptions.ValidationException;
+import com.example.app.models.BilingualFood;
+import com.example.app.models.CursorPage;
+import com.example.app.models.FoodBatch;
 import com.example.app.models.FoodEmbeddedCodes;
+import com.example.app.models.FoodFacets;
+import com.example.app.models.FoodSummary;
 import com.example.app.repositories.FoodEmbeddedCodesRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Service for food operations using the optimized embedded codes structure.
  * 
  * This service provides high-level operations on the foods_embedded_codes collection
- * with efficient queries and easy access to classification data.
+ * with efficient queries and easy access to classification data. Non-paged reads are
+ * served from the in-memory {@link FoodCatalog} instead of querying MongoDB.
  */
 @Service
 public class FoodService {
     
+    // Stable order for paged listings when the client does not ask for one
+    private static final Sort DEFAULT_PAGE_SORT = Sort.by("foodNumber", "language");
+    
+    // Largest batch lookup; bounds the response size of a single request
+    public static final int MAX_BATCH_SIZE = 200;
+    
     @Autowired
     private FoodEmbeddedCodesRepository foodRepository;
     
+    @Autowired
+    private FoodCatalog foodCatalog;
+    
     // ===== BASIC FOOD OPERATIONS =====
     
     /**
      * Get food by foodNumber (unique ID) in specific language.
      */
     public Optional<FoodEmbeddedCodes> getFoodByNumber(Integer foodNumber, String language) {
-        List<FoodEmbeddedCodes> foods = foodRepository.findByFoodNumber(foodNumber)
-            .map(List::of)
-            .orElse(List.of())
-            .stream()
-            .filter(food -> language.equals(food.getLanguage()))
-            .collect(Collectors.toList());
-        
-        return foods.isEmpty() ? Optional.empty() : Optional.of(foods.get(0));
+        return foodCatalog.current().get(foodNumber, language);
     }
     
     /**
      * Get food by foodNumber.
      */
     public Optional<FoodEmbeddedCodes> getFoodByNumber(Integer foodNumber) {
-        return foodRepository.findByFoodNumber(foodNumber);
+        return foodCatalog.current().getByFoodNumber(foodNumber).stream().findFirst();
+    }
+    
+    /**
+     * Get the English and Swedish variants of a food together, or empty if neither exists.
+     */
+    public Optional<BilingualFood> getBilingualFood(Integer foodNumber) {
+        FoodCatalogSnapshot snapshot = foodCatalog.current();
+        FoodEmbeddedCodes en = snapshot.get(foodNumber, "en").orElse(null);
+        FoodEmbeddedCodes sv = snapshot.get(foodNumber, "sv").orElse(null);
+        if (en == null && sv == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new BilingualFood(foodNumber, en, sv));
+    }
+    
+    /**
+     * Look up many foods at once, in request order. Without a language the first
+     * variant of each food is returned, as for {@link #getFoodByNumber(Integer)}.
+     */
+    public FoodBatch<FoodEmbeddedCodes> getFoodsByNumbers(List<Integer> foodNumbers, String language) {
+        return lookUpBatch(foodNumbers, language, Function.identity());
+    }
+    
+    /**
+     * Batch lookup returning food summaries.
+     */
+    public FoodBatch<FoodSummary> getFoodSummariesByNumbers(List<Integer> foodNumbers, String language) {
+        return lookUpBatch(foodNumbers, language, FoodSummary::from);
     }
     
     /**
      * Get all foods.
      */
     public List<FoodEmbeddedCodes> getAllFoods() {
-        return foodRepository.findAll();
+        return foodCatalog.current().getFoods();
     }
     
     /**
@@ -61,121 +112,331 @@ public class FoodService {
         return foodRepository.findAll(pageable);
     }
     
+    /**
+     * Stream all foods from MongoDB in (foodNumber, language) order, as full documents
+     * or {@link FoodSummary}. The caller must close the stream.
+     */
+    public <T> Stream<T> streamAllFoods(Class<T> type) {
+        return foodRepository.streamAllBy(DEFAULT_PAGE_SORT, type);
+    }
+    
     /**
      * Get foods by language.
      */
     public List<FoodEmbeddedCodes> getFoodsByLanguage(String language) {
-        return foodRepository.findByLanguage(language);
+        return foodCatalog.current().getByLanguage(language);
+    }
+    
+    /**
+     * Get food summaries by language.
+     */
+    public List<FoodSummary> getFoodSummariesByLanguage(String language) {
+        return summaryIndex().getByLanguage(language);
+    }
+    
+    /**
+     * Stream foods by language from MongoDB. The caller must close the stream.
+     */
+    public <T> Stream<T> streamFoodsByLanguage(String language, Class<T> type) {
+        return foodRepository.streamByLanguage(language, DEFAULT_PAGE_SORT, type);
     }
     
     /**
      * Get foods by language with pagination.
      */
     public Page<FoodEmbeddedCodes> getFoodsByLanguage(String language, Pageable pageable) {
-        List<FoodEmbeddedCodes> foods = foodRepository.findByLanguage(language);
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), foods.size());
-        
-        List<FoodEmbeddedCodes> pagedFoods = foods.subList(start, end);
-        return new PageImpl<>(pagedFoods, pageable, foods.size());
+        return getFoodsByLanguage(language, pageable, FoodEmbeddedCodes.class);
+    }
+    
+    /**
+     * Get foods by language with pagination, as full documents or a projection.
+     */
+    public <T> Page<T> getFoodsByLanguage(String language, Pageable pageable, Class<T> type) {
+        return foodRepository.findByLanguage(language, withDefaultSort(pageable), type);
+    }
+    
+    /**
+     * Get foods by language, keyset-paginated on foodNumber.
+     * Pass null as cursor for the first page, then the returned nextCursor.
+     */
+    public CursorPage<FoodEmbeddedCodes> getFoodsByLanguage(String language, String cursor, int size) {
+        return getFoodsByLanguage(language, cursor, size, FoodEmbeddedCodes.class);
+    }
+    
+    /**
+     * Keyset-paginated foods by language, as full documents or {@link FoodSummary}.
+     */
+    public <T> CursorPage<T> getFoodsByLanguage(String language, String cursor, int size, Class<T> type) {
+        String[] position = decodeCursor(cursor);
+        Integer after = position != null ? parseFoodNumber(position[0]) : Integer.MIN_VALUE;
+        List<T> foods = foodRepository.findByLanguageAndFoodNumberGreaterThanOrderByFoodNumberAsc(
+            language, after, PageRequest.of(0, size), type);
+        return toCursorPage(foods, size);
     }
     
     /**
      * Get foods by category.
      */
     public List<FoodEmbeddedCodes> getFoodsByCategory(String category) {
-        return foodRepository.findByFoodCategory(category);
+        return foodCatalog.current().getByCategory(category);
+    }
+    
+    /**
+     * Get food summaries by category.
+     */
+    public List<FoodSummary> getFoodSummariesByCategory(String category) {
+        return summaryIndex().getByCategory(category);
+    }
+    
+    /**
+     * Stream foods by category from MongoDB. The caller must close the stream.
+     */
+    public <T> Stream<T> streamFoodsByCategory(String category, Class<T> type) {
+        return foodRepository.streamByFoodCategory(category, DEFAULT_PAGE_SORT, type);
     }
     
     /**
      * Get foods by category with pagination.
      */
     public Page<FoodEmbeddedCodes> getFoodsByCategory(String category, Pageable pageable) {
-        List<FoodEmbeddedCodes> foods = foodRepository.findByFoodCategory(category);
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), foods.size());
-        
-        List<FoodEmbeddedCodes> pagedFoods = foods.subList(start, end);
-        return new PageImpl<>(pagedFoods, pageable, foods.size());
+        return getFoodsByCategory(category, pageable, FoodEmbeddedCodes.class);
+    }
+    
+    /**
+     * Get foods by category with pagination, as full documents or a projection.
+     */
+    public <T> Page<T> getFoodsByCategory(String category, Pageable pageable, Class<T> type) {
+        return foodRepository.findByFoodCategory(category, withDefaultSort(pageable), type);
+    }
+    
+    /**
+     * Get foods by category, keyset-paginated on foodNumber (then language, since
+     * both language variants of a food can share a category).
+     */
+    public CursorPage<FoodEmbeddedCodes> getFoodsByCategory(String category, String cursor, int size) {
+        return getFoodsByCategory(category, cursor, size, FoodEmbeddedCodes.class);
+    }
+    
+    /**
+     * Keyset-paginated foods by category, as full documents or {@link FoodSummary}.
+     */
+    public <T> CursorPage<T> getFoodsByCategory(String category, String cursor, int size, Class<T> type) {
+        String[] position = decodeCursor(cursor);
+        Integer afterNumber = position != null ? parseFoodNumber(position[0]) : Integer.MIN_VALUE;
+        String afterLanguage = position != null && position.length > 1 ? position[1] : "";
+        List<T> foods = foodRepository.findByFoodCategoryAfter(
+            category, afterNumber, afterLanguage, PageRequest.of(0, size), type);
+        return toCursorPage(foods, size);
     }
     
     /**
      * Search foods by name (case insensitive).
-     * Uses proper @JsonProperty field mapping from Swedish MongoDB data.
+     * Returns every match, best first.
      */
     public List<FoodEmbeddedCodes> searchFoodsByName(String name) {
-        // Get all foods and filter by name - @JsonProperty handles Swedish->English mapping
-        return foodRepository.findAll().stream()
-            .filter(food -> food.getName() != null && 
-                           food.getName().toLowerCase().contains(name.toLowerCase()))
-            .collect(Collectors.toList());
+        return searchFoods(name, null, 0, Integer.MAX_VALUE).foods();
+    }
+    
+    /**
+     * Ranked, paginated search over name, alt name and scientific name.
+     * Diacritics are folded, so "kott" matches "kött".
+     */
+    public FoodSearchIndex.SearchResult searchFoods(String name, String language, int offset, int limit) {
+        return searchIndex().search(name, language, offset, limit);
+    }
+    
+    /**
+     * Typeahead suggestions for a partially typed name.
+     */
+    public List<FoodEmbeddedCodes> typeahead(String name, String language, int limit) {
+        return searchIndex().typeahead(name, language, limit);
     }
     
     /**
      * Get animal-based foods.
-     * Safe fallback for Swedish data without classifications.
      */
     public List<FoodEmbeddedCodes> getAnimalFoods() {
-        try {
-            return foodRepository.findAnimalProducts();
-        } catch (Exception e) {
-            // Swedish data fallback - search by food name
-            return foodRepository.findAll().stream()
-                    .filter(food -> food.getName() != null && 
-                           (food.getName().toLowerCase().contains("kött") ||
-                            food.getName().toLowerCase().contains("fisk") ||
-                            food.getName().toLowerCase().contains("mjölk") ||
-                            food.getName().toLowerCase().contains("meat") ||
-                            food.getName().toLowerCase().contains("fish") ||
-                            food.getName().toLowerCase().contains("milk")))
-                    .collect(java.util.stream.Collectors.toList());
-        }
+        return foodCatalog.current().getAnimalFoods();
     }
     
     /**
      * Get plant-based foods.
-     * Safe fallback for Swedish data without classifications.
      */
     public List<FoodEmbeddedCodes> getPlantFoods() {
-        try {
-            return foodRepository.findPlantBasedProducts();
-        } catch (Exception e) {
-            // Swedish data fallback - search by food name
-            return foodRepository.findAll().stream()
-                    .filter(food -> food.getName() != null && 
-                           (food.getName().toLowerCase().contains("frukt") ||
-                            food.getName().toLowerCase().contains("grönsak") ||
-                            food.getName().toLowerCase().contains("bröd") ||
-                            food.getName().toLowerCase().contains("fruit") ||
-                            food.getName().toLowerCase().contains("vegetable") ||
-                            food.getName().toLowerCase().contains("bread")))
-                    .collect(java.util.stream.Collectors.toList());
-        }
+        return foodCatalog.current().getPlantFoods();
+    }
+    
+    /**
+     * Get animal-based food summaries.
+     */
+    public List<FoodSummary> getAnimalFoodSummaries() {
+        return summaryIndex().getAnimalFoods();
+    }
+    
+    /**
+     * Get plant-based food summaries.
+     */
+    public List<FoodSummary> getPlantFoodSummaries() {
+        return summaryIndex().getPlantFoods();
     }
     
     /**
      * Get total count of foods.
      */
     public long getTotalFoodCount() {
-        return foodRepository.count();
+        return foodCatalog.current().size();
     }
     
     /**
      * Get count by language.
      */
     public long getFoodCountByLanguage(String language) {
-        return foodRepository.findByLanguage(language).size();
+        return foodCatalog.current().getByLanguage(language).size();
+    }
+    
+    /**
+     * Foods matching a combination of facets, in catalog order. Evaluated on the
+     * snapshot's bitmap index without querying MongoDB.
+     */
+    public Page<FoodEmbeddedCodes> filterFoods(FoodFilter filter, Pageable pageable) {
+        FoodCatalogSnapshot snapshot = foodCatalog.current();
+        FoodFilterIndex index = snapshot.derived(FoodFilterIndex.class, FoodFilterIndex::build);
+        BitSet matches = index.match(filter);
+        int offset = (int) Math.min(pageable.getOffset(), matches.cardinality()); // A page past the end is empty
+        List<FoodEmbeddedCodes> page = index.page(matches, offset, pageable.getPageSize());
+        return new PageImpl<>(page, pageable, matches.cardinality());
+    }
+    
+    /**
+     * Facet filtering returning food summaries.
+     */
+    public Page<FoodSummary> filterFoodSummaries(FoodFilter filter, Pageable pageable) {
+        Page<FoodEmbeddedCodes> foods = filterFoods(filter, pageable);
+        return new PageImpl<>(summaryIndex().summarize(foods.getContent()), pageable, foods.getTotalElements());
+    }
+    
+    /**
+     * Food counts per category, language, food source, physical state, heat treatment
+     * and preservation. Read once per catalog version from the cardinalities of the
+     * snapshot's filter bitmaps, so they match what {@link #filterFoods} returns.
+     */
+    public FoodFacets getFacets() {
+        return foodCatalog.current().derived(FoodFacets.class, FoodService::countFacets);
     }
     
     /**
      * Get unique food categories.
      */
     public List<String> getAllCategories() {
-        return foodRepository.findAll().stream()
-            .map(FoodEmbeddedCodes::getFoodCategory)
-            .filter(category -> category != null)
-            .distinct()
-            .sorted()
-            .collect(Collectors.toList());
+        return foodCatalog.current().getCategories();
+    }
+    
+    private static FoodFacets countFacets(FoodCatalogSnapshot snapshot) {
+        FoodFilterIndex index = snapshot.derived(FoodFilterIndex.class, FoodFilterIndex::build);
+        return new FoodFacets(snapshot.getVersion(), snapshot.getFoods().size(),
+            facetCounts(index.categoryCounts()), facetCounts(index.languageCounts()),
+            facetCounts(index.counts(FoodFilterIndex.Facet.FOOD_SOURCE)),
+            facetCounts(index.counts(FoodFilterIndex.Facet.PHYSICAL_STATE)),
+            facetCounts(index.counts(FoodFilterIndex.Facet.HEAT_TREATMENT)),
+            facetCounts(index.counts(FoodFilterIndex.Facet.PRESERVATION)));
+    }
+    
+    private static List<FoodFacets.FacetCount> facetCounts(Map<String, Integer> counts) {
+        List<FoodFacets.FacetCount> result = new ArrayList<>(counts.size());
+        counts.forEach((value, count) -> result.add(new FoodFacets.FacetCount(value, count)));
+        return result;
+    }
+    
+    private static Pageable withDefaultSort(Pageable pageable) {
+        if (pageable.isUnpaged() || pageable.getSort().isSorted()) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), DEFAULT_PAGE_SORT);
+    }
+    
+    /**
+     * A full page means there may be more; the cursor points at its last food.
+     */
+    private static <T> CursorPage<T> toCursorPage(List<T> foods, int size) {
+        String nextCursor = null;
+        if (foods.size() == size && !foods.isEmpty()) {
+            nextCursor = encodeCursor(cursorPosition(foods.get(foods.size() - 1)));
+        }
+        return new CursorPage<>(foods, size, nextCursor);
+    }
+    
+    private static String cursorPosition(Object food) {
+        Integer foodNumber;
+        String language;
+        if (food instanceof FoodSummary summary) {
+            foodNumber = summary.foodNumber();
+            language = summary.language();
+        } else {
+            FoodEmbeddedCodes document = (FoodEmbeddedCodes) food;
+            foodNumber = document.getFoodNumber();
+            language = document.getLanguage();
+        }
+        return foodNumber + ":" + (language != null ? language : "");
+    }
+    
+    private static String encodeCursor(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decode a cursor into [foodNumber, language], or null for the first page.
+     */
+    private static String[] decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 2);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("cursor", "not a valid page cursor");
+        }
+    }
+    
+    private static Integer parseFoodNumber(String value) {
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("cursor", "not a valid page cursor");
+        }
+    }
+    
+    private <T> FoodBatch<T> lookUpBatch(List<Integer> foodNumbers, String language,
+                                         Function<FoodEmbeddedCodes, T> mapper) {
+        if (foodNumbers == null || foodNumbers.isEmpty()) {
+            throw new ValidationException("foodNumbers", "must not be empty");
+        }
+        if (foodNumbers.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("foodNumbers", "at most " + MAX_BATCH_SIZE + " food numbers per request");
+        }
+        
+        // One snapshot for the whole batch, so all foods come from the same catalog version
+        FoodCatalogSnapshot snapshot = foodCatalog.current();
+        List<T> foods = new ArrayList<>(foodNumbers.size());
+        List<Integer> missing = new ArrayList<>();
+        for (Integer foodNumber : foodNumbers) {
+            Optional<FoodEmbeddedCodes> food = language != null
+                ? snapshot.get(foodNumber, language)
+                : snapshot.getByFoodNumber(foodNumber).stream().findFirst();
+            if (food.isPresent()) {
+                foods.add(mapper.apply(food.get()));
+            } else {
+                foods.add(null);
+                missing.add(foodNumber);
+            }
+        }
+        return new FoodBatch<>(foods, missing);
+    }
+    
+    private FoodSummaryIndex summaryIndex() {
+        return foodCatalog.current().derived(FoodSummaryIndex.class, FoodSummaryIndex::build);
+    }
+    
+    private FoodSearchIndex searchIndex() {
+        return foodCatalog.current().derived(FoodSearchIndex.class, FoodSearchIndex::build);
     }
 }
\ No newline at end of file
@@ -1,25 +1,42 @@
 package com.example.app.services;
 
+import com.example.app.catalog.FoodCatalog;
+import com.example.app.catalog.FoodFeatureIndex;
 import com.example.app.models.FoodEmbeddedCodes;
 import com.example.app.models.FoodSuggestion;
-import com.example.app.models.FoodExperience;
-import com.example.app.repositories.FoodEmbeddedCodesRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Service for generating intelligent food suggestions based on user preferences.
  * Uses food classification data and user history to suggest similar foods.
+ *
+ * Food features (category, source and tags) are precomputed per catalog snapshot in a
+ * {@link FoodFeatureIndex}; a request only builds the preference profile and scores
+ * candidates with integer and bit operations, keeping the best ones in a bounded heap.
  */
 @Service
 public class FoodSuggestionService {
 
+    private static final double MIN_CONFIDENCE = 0.3;
+
+    @Autowired
+    private FoodCatalog foodCatalog;
+
     @Autowired
-    private FoodEmbeddedCodesRepository foodRepository;
-    
+    private SuggestionCache suggestionCache;
+
+    /**
+     * Suggestions for a liked set, served from {@link SuggestionCache} when the same
+     * set and count were computed before against the current catalog.
+     */
+    public List<FoodSuggestion> getSuggestions(List<Integer> likedFoodNumbers, int maxSuggestions) {
+        return suggestionCache.get(likedFoodNumbers, maxSuggestions, foodCatalog.current().getVersion(),
+                () -> generateSuggestions(likedFoodNumbers, maxSuggestions));
+    }
+
     /**
      * Generate food suggestions based on foods the user/child likes.
      */
@@ -27,193 +44,220 @@ public class FoodSuggestionService {
         if (likedFoodNumbers == null || likedFoodNumbers.isEmpty()) {
             return getPopularFoodSuggestions(maxSuggestions);
         }
-        
+        if (maxSuggestions <= 0) {
+            return new ArrayList<>();
+        }
+
+        FoodFeatureIndex features = featureIndex();
+
         // Get the foods the user likes
-        List<FoodEmbeddedCodes> likedFoods = foodRepository.findAllByFoodNumberIn(likedFoodNumbers);
-        if (likedFoods.isEmpty()) {
+        int[] likedFoods = features.ordinalsForFoodNumbers(likedFoodNumbers);
+        if (likedFoods.length == 0) {
             return getPopularFoodSuggestions(maxSuggestions);
         }
-        
+
         // Analyze preferences
-        FoodPreferenceProfile profile = analyzePreferences(likedFoods);
-        
-        // Find similar foods
-        List<FoodEmbeddedCodes> allFoods = foodRepository.findByLanguage("en");
-        
-        List<FoodSuggestion> suggestions = allFoods.stream()
-                .filter(food -> !likedFoodNumbers.contains(food.getFoodNumber())) // Exclude already liked foods
-                .map(food -> scoreFoodSimilarity(food, profile, likedFoods))
-                .filter(suggestion -> suggestion.getConfidenceScore() > 0.3) // Only confident suggestions
-                .sorted((s1, s2) -> Double.compare(s2.getConfidenceScore(), s1.getConfidenceScore()))
-                .limit(maxSuggestions)
-                .collect(Collectors.toList());
-                
+        FoodPreferenceProfile profile = analyzePreferences(features, likedFoods);
+        Set<Integer> excluded = new HashSet<>(likedFoodNumbers);
+
+        // Keep the best candidates in a min-heap of at most maxSuggestions entries
+        PriorityQueue<ScoredFood> best = new PriorityQueue<>(maxSuggestions, ScoredFood.WORST_FIRST);
+        for (int doc : features.ordinalsForLanguage("en")) {
+            if (excluded.contains(features.food(doc).getFoodNumber())) {
+                continue; // Exclude already liked foods
+            }
+            double score = scoreFoodSimilarity(features, doc, profile);
+            if (score <= MIN_CONFIDENCE) {
+                continue; // Only confident suggestions
+            }
+            ScoredFood candidate = new ScoredFood(doc, score);
+            if (best.size() < maxSuggestions) {
+                best.add(candidate);
+            } else if (ScoredFood.WORST_FIRST.compare(candidate, best.peek()) > 0) {
+                best.poll();
+                best.add(candidate);
+            }
+        }
+
+        List<ScoredFood> ranked = new ArrayList<>(best);
+        ranked.sort(ScoredFood.WORST_FIRST.reversed());
+
+        List<Integer> basedOnFoods = new ArrayList<>(likedFoods.length);
+        for (int doc : likedFoods) {
+            basedOnFoods.add(features.food(doc).getFoodNumber());
+        }
+
+        List<FoodSuggestion> suggestions = new ArrayList<>(ranked.size());
+        for (ScoredFood scored : ranked) {
+            FoodEmbeddedCodes food = features.food(scored.doc);
+            suggestions.add(new FoodSuggestion(
+                food.getFoodNumber(),
+                food.getName(),
+                food.getImageUrl(),
+                features.tags(scored.doc),
+                explain(features, scored.doc, profile),
+                scored.score,
+                basedOnFoods
+            ));
+        }
         return suggestions;
     }
-    
+
     /**
      * Get popular food suggestions for new users.
      */
     public List<FoodSuggestion> getPopularFoodSuggestions(int maxSuggestions) {
+        FoodFeatureIndex features = featureIndex();
+        List<FoodSuggestion> suggestions = new ArrayList<>();
+
         // Get child-friendly foods from different categories
-        List<FoodEmbeddedCodes> popularFoods = foodRepository.findByLanguage("en");
-        
-        return popularFoods.stream()
-                .filter(this::isChildFriendly)
-                .limit(maxSuggestions)
-                .map(food -> new FoodSuggestion(
+        for (int doc : features.ordinalsForLanguage("en")) {
+            if (suggestions.size() >= maxSuggestions) {
+                break;
+            }
+            if (features.isChildFriendly(doc)) {
+                FoodEmbeddedCodes food = features.food(doc);
+                suggestions.add(new FoodSuggestion(
                     food.getFoodNumber(),
                     food.getName(),
                     food.getImageUrl(),
-                    extractTags(food),
+                    features.tags(doc),
                     "Popular choice for children - mild flavor and familiar texture",
                     0.8,
                     new ArrayList<>()
-                ))
-                .collect(Collectors.toList());
+                ));
+            }
+        }
+        return suggestions;
     }
-    
+
     /**
      * Analyze food preferences from liked foods.
      */
-    private FoodPreferenceProfile analyzePreferences(List<FoodEmbeddedCodes> likedFoods) {
-        Map<String, Integer> categoryCount = new HashMap<>();
-        Map<String, Integer> sourceCount = new HashMap<>();
-        Set<String> preferredTags = new HashSet<>();
-        
-        for (FoodEmbeddedCodes food : likedFoods) {
+    private FoodPreferenceProfile analyzePreferences(FoodFeatureIndex features, int[] likedFoods) {
+        int[] categoryCount = new int[features.categoryCount()];
+        boolean prefersPlant = false;
+        boolean prefersAnimal = false;
+        long preferredTags = 0;
+
+        for (int doc : likedFoods) {
             // Count food categories
-            if (food.getFoodCategory() != null) {
-                categoryCount.merge(food.getFoodCategory(), 1, Integer::sum);
+            int category = features.categoryOrdinal(doc);
+            if (category >= 0) {
+                categoryCount[category]++;
             }
-            
+
             // Analyze food source (plant vs animal)
-            if (food.isPlantBased()) {
-                sourceCount.merge("plant", 1, Integer::sum);
-            } else if (food.isAnimalBased()) {
-                sourceCount.merge("animal", 1, Integer::sum);
+            if (features.isPlantBased(doc)) {
+                prefersPlant = true;
+            } else if (features.isAnimalBased(doc)) {
+                prefersAnimal = true;
             }
-            
+
             // Extract preferred characteristics
-            preferredTags.addAll(extractTags(food));
+            preferredTags |= features.tagBits(doc);
         }
-        
-        return new FoodPreferenceProfile(categoryCount, sourceCount, preferredTags);
+
+        return new FoodPreferenceProfile(categoryCount, prefersPlant, prefersAnimal, preferredTags, likedFoods.length);
     }
-    
+
     /**
      * Score how similar a food is to the user's preferences.
      */
-    private FoodSuggestion scoreFoodSimilarity(FoodEmbeddedCodes candidate, FoodPreferenceProfile profile, List<FoodEmbeddedCodes> likedFoods) {
+    private double scoreFoodSimilarity(FoodFeatureIndex features, int candidate, FoodPreferenceProfile profile) {
         double score = 0.0;
-        List<String> reasons = new ArrayList<>();
-        
+        int category = features.categoryOrdinal(candidate);
+
         // Category similarity (40% weight)
-        if (candidate.getFoodCategory() != null && profile.preferredCategories.containsKey(candidate.getFoodCategory())) {
-            score += 0.4 * (profile.preferredCategories.get(candidate.getFoodCategory()) / (double) likedFoods.size());
-            reasons.add("same food category");
+        if (category >= 0 && profile.categoryCount[category] > 0) {
+            score += 0.4 * (profile.categoryCount[category] / (double) profile.likedFoodCount);
         }
-        
-        // Source similarity (20% weight) 
-        if (candidate.isPlantBased() && profile.preferredSources.getOrDefault("plant", 0) > 0) {
+
+        // Source similarity (20% weight)
+        if (features.isPlantBased(candidate) && profile.prefersPlant) {
             score += 0.2;
-            reasons.add("plant-based like your other favorites");
-        } else if (candidate.isAnimalBased() && profile.preferredSources.getOrDefault("animal", 0) > 0) {
+        } else if (features.isAnimalBased(candidate) && profile.prefersAnimal) {
             score += 0.2;
-            reasons.add("similar protein source");
         }
-        
+
         // Tag similarity (30% weight)
-        List<String> candidateTags = extractTags(candidate);
-        long matchingTags = candidateTags.stream()
-                .mapToLong(tag -> profile.preferredTags.contains(tag) ? 1 : 0)
-                .sum();
-        if (!candidateTags.isEmpty()) {
-            score += 0.3 * (matchingTags / (double) candidateTags.size());
-            if (matchingTags > 0) {
-                reasons.add("similar texture and taste");
-            }
+        long candidateTags = features.tagBits(candidate);
+        if (candidateTags != 0) {
+            score += 0.3 * (Long.bitCount(candidateTags & profile.preferredTags) / (double) Long.bitCount(candidateTags));
         }
-        
+
         // Novelty bonus (10% weight) - slightly favor foods from different categories for variety
-        if (candidate.getFoodCategory() != null && !profile.preferredCategories.containsKey(candidate.getFoodCategory())) {
+        if (category >= 0 && profile.categoryCount[category] == 0) {
             score += 0.1;
-            reasons.add("introduces variety to your child's diet");
         }
-        
-        String reason = reasons.isEmpty() ? "Recommended for expanding food preferences" : 
-                       "Great choice because it has " + String.join(", ", reasons);
-        
-        return new FoodSuggestion(
-            candidate.getFoodNumber(),
-            candidate.getName(),
-            candidate.getImageUrl(),
-            candidateTags,
-            reason,
-            Math.min(score, 1.0), // Cap at 1.0
-            likedFoods.stream().map(FoodEmbeddedCodes::getFoodNumber).collect(Collectors.toList())
-        );
+
+        return Math.min(score, 1.0); // Cap at 1.0
     }
-    
+
     /**
-     * Extract tags/characteristics from a food item.
+     * Build the explanation shown with a suggestion. Only called for the foods returned.
      */
-    private List<String> extractTags(FoodEmbeddedCodes food) {
-        List<String> tags = new ArrayList<>();
-        
-        // Add tags based on food category
-        String category = food.getFoodCategory();
-        if (category != null) {
-            if (category.toLowerCase().contains("fruit")) tags.add("Sweet");
-            if (category.toLowerCase().contains("vegetable")) tags.add("Healthy");
-            if (category.toLowerCase().contains("dairy")) tags.add("Creamy");
-            if (category.toLowerCase().contains("grain")) tags.add("Mild");
-            if (category.toLowerCase().contains("meat")) tags.add("Protein");
-        }
-        
-        // Add tags based on food source
-        if (food.isPlantBased()) {
-            tags.add("Plant-based");
-        }
-        if (food.isAnimalBased()) {
-            tags.add("Protein-rich");
-        }
-        
-        // Add general child-friendly tags
-        if (isChildFriendly(food)) {
-            tags.add("Kid-friendly");
-        }
-        
-        return tags.stream().distinct().collect(Collectors.toList());
+    private String explain(FoodFeatureIndex features, int candidate, FoodPreferenceProfile profile) {
+        List<String> reasons = new ArrayList<>();
+        int category = features.categoryOrdinal(candidate);
+
+        if (category >= 0 && profile.categoryCount[category] > 0) {
+            reasons.add("same food category");
+        }
+        if (features.isPlantBased(candidate) && profile.prefersPlant) {
+            reasons.add("plant-based like your other favorites");
+        } else if (features.isAnimalBased(candidate) && profile.prefersAnimal) {
+            reasons.add("similar protein source");
+        }
+        if ((features.tagBits(candidate) & profile.preferredTags) != 0) {
+            reasons.add("similar texture and taste");
+        }
+        if (category >= 0 && profile.categoryCount[category] == 0) {
+            reasons.add("introduces variety to your child's diet");
+        }
+
+        return reasons.isEmpty() ? "Recommended for expanding food preferences" :
+               "Great choice because it has " + String.join(", ", reasons);
     }
-    
-    /**
-     * Check if a food is typically child-friendly.
-     */
-    private boolean isChildFriendly(FoodEmbeddedCodes food) {
-        String name = food.getName().toLowerCase();
-        String category = food.getFoodCategory() != null ? food.getFoodCategory().toLowerCase() : "";
-        
-        // Positive indicators for child-friendly foods
-        return name.contains("apple") || name.contains("banana") || name.contains("pasta") ||
-               name.contains("rice") || name.contains("chicken") || name.contains("cheese") ||
-               name.contains("bread") || name.contains("yogurt") || name.contains("milk") ||
-               category.contains("fruit") || category.contains("dairy") ||
-               (category.contains("cereal") && !name.contains("spice"));
+
+    private FoodFeatureIndex featureIndex() {
+        return foodCatalog.current().derived(FoodFeatureIndex.class, FoodFeatureIndex::build);
     }
-    
+
     /**
      * Inner class to represent user food preferences.
      */
     private static class FoodPreferenceProfile {
-        final Map<String, Integer> preferredCategories;
-        final Map<String, Integer> preferredSources;
-        final Set<String> preferredTags;
-        
-        FoodPreferenceProfile(Map<String, Integer> categories, Map<String, Integer> sources, Set<String> tags) {
-            this.preferredCategories = categories;
-            this.preferredSources = sources;
-            this.preferredTags = tags;
+        final int[] categoryCount;
+        final boolean prefersPlant;
+        final boolean prefersAnimal;
+        final long preferredTags;
+        final int likedFoodCount;
+
+        FoodPreferenceProfile(int[] categoryCount, boolean prefersPlant, boolean prefersAnimal,
+                              long preferredTags, int likedFoodCount) {
+            this.categoryCount = categoryCount;
+            this.prefersPlant = prefersPlant;
+            this.prefersAnimal = prefersAnimal;
+            this.preferredTags = preferredTags;
+            this.likedFoodCount = likedFoodCount;
+        }
+    }
+
+    /**
+     * Candidate with its score. Ties go to the food earlier in the catalog.
+     */
+    private static class ScoredFood {
+        static final Comparator<ScoredFood> WORST_FIRST = Comparator
+                .comparingDouble((ScoredFood s) -> s.score)
+                .thenComparing(Comparator.comparingInt((ScoredFood s) -> s.doc).reversed());
+
+        final int doc;
+        final double score;
+
+        ScoredFood(int doc, double score) {
+            this.doc = doc;
+            this.score = score;
         }
     }
 }
@@ -0,0 +1,209 @@
+package com.example.app.services;
+
+import com.example.app.models.CommunityPost;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for community post likes.
+ *
+ * Likes and unlikes are added to a {@link LongAdder} per post and coalesced in memory;
+ * the net delta of every touched post is written in one unordered bulk of {@code $inc}
+ * updates, every {@code app.community.likes.flush-interval-ms} or as soon as
+ * {@code app.community.likes.max-pending} changes are waiting. A burst of thousands of
+ * likes on one post becomes a single write. Deltas being written stay visible to reads
+ * as in flight until the write returns. Only the updates a flush failed to apply are
+ * put back for the next flush, so a retry never counts a like twice. Pending deltas are
+ * flushed on shutdown and are only lost if the process dies.
+ */
+@Component
+public class PostLikeBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostLikeBuffer.class);
+
+    private static final String LIKES_COUNT = "likesCount";
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final long maxPending;
+
+    private final ConcurrentHashMap<String, LongAdder> pending = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> inFlight = new ConcurrentHashMap<>(); // Written by the running flush
+    private final AtomicLong pendingChanges = new AtomicLong();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Autowired
+    public PostLikeBuffer(MongoTemplate mongoTemplate,
+                          @Value("${app.community.likes.write-behind:true}") boolean enabled,
+                          @Value("${app.community.likes.max-pending:1000}") long maxPending) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Whether likes go through the buffer; when off, callers update the post directly.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Record a like (+1) or unlike (-1) for a post. Flushes on the calling thread once
+     * enough changes are pending, unless another flush is already running.
+     */
+    public void add(String postId, long delta) {
+        accumulate(postId, delta);
+        if (pendingChanges.incrementAndGet() >= maxPending) {
+            flush();
+        }
+    }
+
+    /**
+     * Net like delta for a post that is not in the database yet: buffered, or part of
+     * a flush that has not completed.
+     */
+    public long pendingDelta(String postId) {
+        LongAdder adder = pending.get(postId);
+        return (adder != null ? adder.sum() : 0) + inFlight.getOrDefault(postId, 0L);
+    }
+
+    /**
+     * Add a post's pending delta to the like count of a post just read from the
+     * database, so reads see likes that are still buffered.
+     */
+    public CommunityPost withPending(CommunityPost post) {
+        long delta = pendingDelta(post.getId());
+        if (delta != 0) {
+            long likes = post.getLikesCount() != null ? post.getLikesCount() : 0;
+            post.setLikesCount((int) Math.max(0, likes + delta));
+        }
+        return post;
+    }
+
+    /**
+     * Write all pending deltas as one bulk operation. Updates that fail are added back
+     * and retried on the next flush; with an unordered bulk the others are applied.
+     */
+    @Scheduled(fixedDelayString = "${app.community.likes.flush-interval-ms:200}")
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return; // A flush is in progress and will pick up what is pending
+        }
+        try {
+            pendingChanges.set(0);
+            List<Map.Entry<String, Long>> deltas = drain();
+            if (deltas.isEmpty()) {
+                return;
+            }
+
+            List<Map.Entry<String, Long>> failed = deltas; // Until the bulk reports otherwise
+            try {
+                BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CommunityPost.class);
+                for (Map.Entry<String, Long> delta : deltas) {
+                    bulk.updateOne(Query.query(Criteria.where("_id").is(delta.getKey())), increment(delta.getValue()));
+                }
+                bulk.execute();
+                failed = List.of();
+                logger.debug("Flushed like deltas for {} posts", deltas.size());
+            } catch (BulkOperationException e) {
+                // The updates not listed as errors were applied; retrying them would count likes twice
+                failed = e.getErrors().stream().map(error -> deltas.get(error.getIndex())).toList();
+                logger.warn("Failed to flush like deltas for {} of {} posts, will retry: {}",
+                    failed.size(), deltas.size(), e.getMessage());
+            } catch (RuntimeException e) {
+                // Not sent, or no per-update outcome to go on
+                logger.warn("Failed to flush like deltas for {} posts, will retry: {}", deltas.size(), e.getMessage());
+            } finally {
+                // Put failed deltas back before they stop counting as in flight, so reads never miss them
+                for (Map.Entry<String, Long> delta : failed) {
+                    accumulate(delta.getKey(), delta.getValue());
+                }
+                inFlight.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushLock.lock(); // Wait for a running flush rather than skipping
+        try {
+            flush();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Move the net delta of every post to in flight. Posts with nothing pending since the
+     * previous flush are removed from the map so it only holds recently liked posts.
+     */
+    private List<Map.Entry<String, Long>> drain() {
+        List<Map.Entry<String, Long>> deltas = new ArrayList<>();
+        for (String postId : pending.keySet()) {
+            // Check and remove in one step, so an add to an adder being removed moves to a new one
+            LongAdder adder = pending.computeIfPresent(postId, (id, current) -> current.sum() == 0 ? null : current);
+            if (adder == null) {
+                continue;
+            }
+            long delta = adder.sum();
+            if (delta != 0) {
+                // In flight first, so the delta is never missing from pendingDelta()
+                inFlight.put(postId, delta);
+                adder.add(-delta); // Concurrent adds stay pending
+                deltas.add(Map.entry(postId, delta));
+            }
+        }
+        return deltas;
+    }
+
+    private void accumulate(String postId, long delta) {
+        LongAdder adder = pending.computeIfAbsent(postId, id -> new LongAdder());
+        adder.add(delta);
+        if (pending.get(postId) != adder) {
+            // The adder was removed as idle while we added to it; move our delta to the live one
+            long moved = adder.sumThenReset();
+            if (moved != 0) {
+                accumulate(postId, moved);
+            }
+        }
+    }
+
+    /**
+     * Increments are a plain $inc; a net decrement is applied with a floor at zero.
+     */
+    private static UpdateDefinition increment(long delta) {
+        int value = Math.toIntExact(delta); // likesCount is an int32 field
+        if (value > 0) {
+            return new Update().inc(LIKES_COUNT, value);
+        }
+        AggregationExpression floored = context -> new Document("$max", List.of(0,
+            new Document("$add", List.of(new Document("$ifNull", List.of("$" + LIKES_COUNT, 0)), value))));
+        return AggregationUpdate.update().set(LIKES_COUNT).toValue(floored);
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.app.services;
+
+import com.mongodb.DBRef;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.LazyLoadingProxy;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Batch resolution of lazy {@code @DBRef} properties.
+ *
+ * Single references ({@code CommunityPost.author}, {@code FoodExperience.child} ...) are
+ * mapped lazily, so reading a page of documents does not issue one query per reference.
+ * This resolver then loads every referenced document of a page with one {@code $in}
+ * query per target collection and puts the loaded objects in place of the proxies,
+ * following references of the loaded documents as well. Resolved documents are kept
+ * for the rest of the HTTP request, so a reference shared by several lists in one
+ * request is loaded once.
+ */
+@Component
+public class ReferenceResolver {
+
+    private static final String CACHE_ATTRIBUTE = ReferenceResolver.class.getName() + ".CACHE";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Autowired
+    public ReferenceResolver(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public <T> Page<T> resolve(Page<T> page) {
+        resolveAll(page.getContent(), cache());
+        return page;
+    }
+
+    public <T> List<T> resolve(List<T> entities) {
+        resolveAll(entities, cache());
+        return entities;
+    }
+
+    public <T> Optional<T> resolve(Optional<T> entity) {
+        entity.ifPresent(value -> resolveAll(List.of(value), cache()));
+        return entity;
+    }
+
+    private void resolveAll(Collection<?> entities, Map<Target, Object> cache) {
+        List<Slot> slots = new ArrayList<>();
+        Map<Source, Set<Object>> missing = new LinkedHashMap<>();
+
+        for (Object entity : entities) {
+            collectReferences(entity, slots, missing, cache);
+        }
+        if (slots.isEmpty()) {
+            return;
+        }
+
+        // One $in query per referenced collection
+        List<Object> loaded = new ArrayList<>();
+        missing.forEach((source, ids) -> {
+            Query query = Query.query(Criteria.where("_id").in(ids));
+            for (Object document : mongoTemplate.find(query, source.type(), source.collection())) {
+                Object id = persistentEntity(document).getIdentifierAccessor(document).getIdentifier();
+                cache.put(new Target(source.collection(), String.valueOf(id)), document);
+                loaded.add(document);
+            }
+            for (Object id : ids) {
+                cache.putIfAbsent(new Target(source.collection(), String.valueOf(id)), Missing.INSTANCE);
+            }
+        });
+
+        for (Slot slot : slots) {
+            Object document = cache.get(slot.target());
+            slot.accessor().setProperty(slot.property(), document == Missing.INSTANCE ? null : document);
+        }
+
+        // References held by the documents just loaded (e.g. a child's parent)
+        resolveAll(loaded, cache);
+    }
+
+    private void collectReferences(Object entity, List<Slot> slots, Map<Source, Set<Object>> missing,
+                                   Map<Target, Object> cache) {
+        if (entity == null) {
+            return;
+        }
+        MongoPersistentEntity<?> persistentEntity = persistentEntity(entity);
+        if (persistentEntity == null) {
+            return;
+        }
+        PersistentPropertyAccessor<?> accessor = persistentEntity.getPropertyAccessor(entity);
+        for (MongoPersistentProperty property : persistentEntity) {
+            if (!property.isDbReference() || property.isCollectionLike() || property.isMap()) {
+                continue;
+            }
+            if (accessor.getProperty(property) instanceof LazyLoadingProxy proxy) {
+                DBRef ref = proxy.toDBRef();
+                Target target = new Target(ref.getCollectionName(), String.valueOf(ref.getId()));
+                slots.add(new Slot(accessor, property, target));
+                if (!cache.containsKey(target)) {
+                    missing.computeIfAbsent(new Source(property.getActualType(), ref.getCollectionName()),
+                        source -> new LinkedHashSet<>()).add(ref.getId());
+                }
+            }
+        }
+    }
+
+    private MongoPersistentEntity<?> persistentEntity(Object entity) {
+        return mongoTemplate.getConverter().getMappingContext()
+            .getPersistentEntity(ClassUtils.getUserClass(entity));
+    }
+
+    /**
+     * Resolved documents for the current request, or a fresh map outside of one.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<Target, Object> cache() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return new HashMap<>();
+        }
+        Map<Target, Object> cache = (Map<Target, Object>) attributes.getAttribute(CACHE_ATTRIBUTE,
+            RequestAttributes.SCOPE_REQUEST);
+        if (cache == null) {
+            cache = new HashMap<>();
+            attributes.setAttribute(CACHE_ATTRIBUTE, cache, RequestAttributes.SCOPE_REQUEST);
+        }
+        return cache;
+    }
+
+    private record Source(Class<?> type, String collection) {}
+
+    private record Target(String collection, String id) {}
+
+    private record Slot(PersistentPropertyAccessor<?> accessor, MongoPersistentProperty property, Target target) {}
+
+    // Cached marker for a reference whose document no longer exists
+    private enum Missing { INSTANCE }
+}
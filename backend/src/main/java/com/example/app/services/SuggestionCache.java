@@ -0,0 +1,97 @@
+package com.example.app.services;
+
+import com.example.app.models.FoodSuggestion;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Cache of computed food suggestions.
+ *
+ * Suggestions depend only on the set of liked foods, the requested count and the
+ * catalog version, so entries are keyed by exactly that and can be shared between
+ * users. A changed liked set or a new catalog version is a different key, so entries
+ * are never invalidated; they expire after a TTL and are bounded in number. Hit, miss
+ * and eviction counts are published to actuator metrics under {@code cache.*} with tag
+ * {@code cache=suggestions}.
+ */
+@Component
+public class SuggestionCache {
+
+    private final Cache<Key, List<FoodSuggestion>> cache;
+
+    @Autowired
+    public SuggestionCache(MeterRegistry meterRegistry,
+                           @Value("${app.suggestions.cache.max-size:10000}") long maxSize,
+                           @Value("${app.suggestions.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "suggestions");
+    }
+
+    /**
+     * Get cached suggestions, computing and storing them on a miss.
+     */
+    public List<FoodSuggestion> get(Collection<Integer> likedFoodNumbers, int maxSuggestions, long catalogVersion,
+                                    Supplier<List<FoodSuggestion>> loader) {
+        Key key = new Key(canonical(likedFoodNumbers), maxSuggestions, catalogVersion);
+        return cache.get(key, k -> List.copyOf(loader.get()));
+    }
+
+    /**
+     * Sorted, de-duplicated food numbers; the same set always gives the same key.
+     */
+    private static int[] canonical(Collection<Integer> foodNumbers) {
+        if (foodNumbers == null) {
+            return new int[0];
+        }
+        return foodNumbers.stream()
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+
+    private static final class Key {
+        private final int[] likedSet;
+        private final int maxSuggestions;
+        private final long catalogVersion;
+        private final int hash;
+
+        Key(int[] likedSet, int maxSuggestions, long catalogVersion) {
+            this.likedSet = likedSet;
+            this.maxSuggestions = maxSuggestions;
+            this.catalogVersion = catalogVersion;
+            this.hash = Objects.hash(Arrays.hashCode(likedSet), maxSuggestions, catalogVersion);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return maxSuggestions == other.maxSuggestions
+                    && catalogVersion == other.catalogVersion
+                    && Arrays.equals(likedSet, other.likedSet);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.app.services;
 
 import com.example.app.models.User;
 import com.example.app.repositories.UserRepository;
+import com.example.app.security.CustomUserDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -16,11 +17,14 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CustomUserDetailsService userDetailsService;
 
     @Autowired
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       CustomUserDetailsService userDetailsService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userDetailsService = userDetailsService;
     }
 
     // Create operations
@@ -63,6 +67,7 @@ public class UserService {
     public User updateUser(String id, User userDetails) {
         User user = userRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+        String previousEmail = user.getEmail();
 
         // Update allowed fields
         if (userDetails.getName() != null) {
@@ -80,7 +85,11 @@ public class UserService {
             user.setRoles(userDetails.getRoles());
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        // Evict after the write, so a concurrent request cannot cache the old user again
+        userDetailsService.evict(previousEmail);
+        userDetailsService.evict(saved.getEmail());
+        return saved;
     }
 
     public User changePassword(String id, String oldPassword, String newPassword) {
@@ -94,15 +103,17 @@ public class UserService {
 
         // Encode and set new password
         user.setPassword(passwordEncoder.encode(newPassword));
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userDetailsService.evict(saved.getEmail());
+        return saved;
     }
 
     // Delete operations
     public void deleteUser(String id) {
-        if (!userRepository.existsById(id)) {
-            throw new RuntimeException("User not found with id: " + id);
-        }
+        User user = userRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
         userRepository.deleteById(id);
+        userDetailsService.evict(user.getEmail());
     }
 
     // Validation methods
@@ -112,7 +123,9 @@ public class UserService {
 
     // Helper methods
     public User saveUser(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userDetailsService.evict(saved.getEmail());
+        return saved;
     }
 
     public long getUserCount() {
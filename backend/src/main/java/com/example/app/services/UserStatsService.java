@@ -0,0 +1,422 @@
+package com.example.app.services;
+
+import com.example.app.controllers.FoodExperienceController.UserStats;
+import com.example.app.models.FoodExperience;
+import com.example.app.models.UserActivityStats;
+import com.example.app.repositories.UserActivityStatsRepository;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the materialized user_stats documents.
+ *
+ * Experience writes apply atomic deltas ($inc for counters, a pipeline update for the
+ * day streak) to the user's document. A user without a document, or one whose
+ * document may have drifted, is rebuilt from food_experiences with one aggregation.
+ * Every update increments the document's {@code version}, and a rebuild replaces the
+ * document only if the version is unchanged since before it aggregated, so a delta
+ * landing mid-rebuild is never overwritten; the rebuild aggregates again instead.
+ * Reading stats is a primary-key lookup.
+ */
+@Service
+public class UserStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserStatsService.class);
+
+    private static final int LIKED_RATING = 4;
+    private static final int MAX_REBUILD_ATTEMPTS = 3;
+    private static final List<String> ACHIEVEMENTS = List.of("Food Explorer", "Taste Champion");
+
+    private final MongoTemplate mongoTemplate;
+    private final UserActivityStatsRepository statsRepository;
+
+    @Autowired
+    public UserStatsService(MongoTemplate mongoTemplate, UserActivityStatsRepository statsRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.statsRepository = statsRepository;
+    }
+
+    // ===== READ =====
+
+    /**
+     * Get a user's stats, building the materialized document on first access.
+     */
+    public UserStats getStats(String userId) {
+        UserActivityStats stats = statsRepository.findById(userId).orElseGet(() -> rebuild(userId));
+        return toUserStats(stats, today());
+    }
+
+    // ===== INCREMENTAL UPDATES (call after the experience is saved) =====
+
+    /**
+     * A new experience was created.
+     */
+    public void onExperienceCreated(String userId, Integer foodNumber, Integer rating, Instant createdAt) {
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        deltas.put("totalExperiences", 1L);
+        addRating(deltas, foodNumber, rating, 1);
+        applyDeltas(userId, deltas);
+        // Also after a rebuild: one that raced with this write may not include the new experience
+        recordActiveDay(userId, day(createdAt != null ? createdAt : Instant.now()));
+    }
+
+    /**
+     * An existing experience changed rating.
+     */
+    public void onRatingChanged(String userId, Integer foodNumber, Integer oldRating, Integer newRating) {
+        if (oldRating == null ? newRating == null : oldRating.equals(newRating)) {
+            return;
+        }
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        addRating(deltas, foodNumber, oldRating, -1);
+        addRating(deltas, foodNumber, newRating, 1);
+        applyDeltas(userId, deltas);
+    }
+
+    /**
+     * An experience was deleted. The streak is left as is; it only reflects
+     * days with activity and is corrected by the next rebuild.
+     */
+    public void onExperienceDeleted(String userId, Integer foodNumber, Integer rating) {
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        deltas.put("totalExperiences", -1L);
+        addRating(deltas, foodNumber, rating, -1);
+        applyDeltas(userId, deltas);
+    }
+
+    // ===== REBUILD =====
+
+    /**
+     * Recompute a user's stats from their full experience history and store them.
+     *
+     * The stored document is replaced only if no update touched it while aggregating;
+     * otherwise the aggregation is run again, up to {@value #MAX_REBUILD_ATTEMPTS} times.
+     */
+    public UserActivityStats rebuild(String userId) {
+        for (int attempt = 1; ; attempt++) {
+            UserActivityStats current = statsRepository.findById(userId).orElse(null);
+            UserActivityStats stats = aggregate(userId);
+            if (store(stats, current)) {
+                return stats;
+            }
+            if (attempt == MAX_REBUILD_ATTEMPTS) {
+                logger.warn("User stats for {} changed during {} rebuild attempts, keeping the stored document",
+                    userId, attempt);
+                return statsRepository.findById(userId).orElse(stats);
+            }
+        }
+    }
+
+    /**
+     * Compute a user's stats with one aggregation: $match on userId, then a $facet
+     * returning totals, the rating histogram, positive experiences per food and the
+     * distinct active days.
+     */
+    private UserActivityStats aggregate(String userId) {
+        TypedAggregation<FoodExperience> aggregation = Aggregation.newAggregation(FoodExperience.class,
+            Aggregation.match(Criteria.where("userId").is(userId)),
+            Aggregation.facet(
+                    Aggregation.group().count().as("total")
+                        .sum(ConditionalOperators.when(Criteria.where("rating").gte(LIKED_RATING)).then(1).otherwise(0))
+                        .as("positive"))
+                .as("totals")
+                .and(Aggregation.group("rating").count().as("count")).as("ratings")
+                .and(Aggregation.match(Criteria.where("rating").gte(LIKED_RATING)),
+                     Aggregation.group("foodNumber").count().as("count")).as("liked")
+                .and(Aggregation.project()
+                         .and(DateOperators.DateToString.dateOf("createdAt").toString("%Y-%m-%d")).as("day"),
+                     Aggregation.group("day"),
+                     Aggregation.sort(Sort.Direction.DESC, "_id")).as("days"));
+
+        Document facets = mongoTemplate.aggregate(aggregation, Document.class).getUniqueMappedResult();
+
+        UserActivityStats stats = new UserActivityStats(userId);
+        Document totals = first(facets, "totals");
+        if (totals != null) {
+            stats.setTotalExperiences(((Number) totals.get("total")).longValue());
+            stats.setPositiveExperiences(((Number) totals.get("positive")).longValue());
+        }
+        for (Document bucket : facet(facets, "ratings")) {
+            if (bucket.get("_id") instanceof Number rating) {
+                stats.getRatingCounts().put(String.valueOf(rating.intValue()), ((Number) bucket.get("count")).longValue());
+            }
+        }
+        for (Document bucket : facet(facets, "liked")) {
+            if (bucket.get("_id") instanceof Number foodNumber) {
+                stats.getLikedFoods().put(String.valueOf(foodNumber.intValue()), ((Number) bucket.get("count")).longValue());
+            }
+        }
+
+        List<LocalDate> activeDays = new ArrayList<>();
+        for (Document day : facet(facets, "days")) {
+            if (day.get("_id") instanceof String value) {
+                activeDays.add(LocalDate.parse(value));
+            }
+        }
+        if (!activeDays.isEmpty()) {
+            LocalDate lastActiveDay = activeDays.get(0);
+            stats.setLastActiveDay(lastActiveDay.toString());
+            stats.setCurrentStreak(currentStreak(activeDays, lastActiveDay));
+            stats.setLongestStreak(longestStreak(activeDays));
+        }
+        stats.setUpdatedAt(Instant.now());
+        return stats;
+    }
+
+    /**
+     * Insert the rebuilt stats, or replace the stored document if its version is still
+     * the one read before aggregating.
+     *
+     * @return false if another write got there first
+     */
+    private boolean store(UserActivityStats stats, UserActivityStats current) {
+        if (current == null) {
+            try {
+                mongoTemplate.insert(stats);
+                return true;
+            } catch (DuplicateKeyException e) {
+                return false; // Created concurrently
+            }
+        }
+        // Documents written before versioning have no field, which $in null matches
+        Criteria unchanged = current.getVersion() == 0
+            ? Criteria.where("version").in(0L, null)
+            : Criteria.where("version").is(current.getVersion());
+        stats.setVersion(current.getVersion() + 1);
+        return mongoTemplate.replace(Query.query(Criteria.where("_id").is(stats.getUserId())).addCriteria(unchanged), stats)
+            .getMatchedCount() > 0;
+    }
+
+    /**
+     * Rebuild the stats of every user with experiences.
+     *
+     * @return number of users rebuilt
+     */
+    public int rebuildAll() {
+        List<String> userIds = mongoTemplate.findDistinct(new Query(), "userId", FoodExperience.class, String.class);
+        int rebuilt = 0;
+        for (String userId : userIds) {
+            if (userId != null) {
+                rebuild(userId);
+                rebuilt++;
+            }
+        }
+        logger.info("Rebuilt user stats for {} users", rebuilt);
+        return rebuilt;
+    }
+
+    /**
+     * Periodic repair job. Disabled unless app.user-stats.rebuild-cron is set.
+     */
+    @Scheduled(cron = "${app.user-stats.rebuild-cron:-}", zone = "UTC")
+    public void scheduledRebuild() {
+        try {
+            rebuildAll();
+        } catch (Exception e) {
+            logger.warn("User stats rebuild failed: {}", e.getMessage());
+        }
+    }
+
+    // ===== HELPERS =====
+
+    /**
+     * Apply counter deltas to an existing stats document, or rebuild it when there is none
+     * (the history already contains the change being recorded).
+     */
+    private void applyDeltas(String userId, Map<String, Long> deltas) {
+        if (userId == null) {
+            return;
+        }
+        try {
+            Update update = new Update().currentDate("updatedAt").inc("version", 1);
+            deltas.forEach((field, delta) -> {
+                if (delta != 0) {
+                    update.inc(field, delta);
+                }
+            });
+            UpdateResult result = mongoTemplate.updateFirst(byUser(userId), update, UserActivityStats.class);
+            if (result.getMatchedCount() == 0) {
+                rebuild(userId);
+            }
+        } catch (Exception e) {
+            discard(userId, e);
+        }
+    }
+
+    /**
+     * Advance the streak for activity on a day, atomically on the server:
+     * same day keeps it, the following day extends it, a later day restarts it at 1.
+     */
+    private void recordActiveDay(String userId, LocalDate day) {
+        if (userId == null) {
+            return;
+        }
+        String today = day.toString();
+        String yesterday = day.minusDays(1).toString();
+
+        Document currentStreak = new Document("$switch", new Document("branches", List.of(
+                new Document("case", new Document("$gte", List.of("$lastActiveDay", today))).append("then", "$currentStreak"),
+                new Document("case", new Document("$eq", List.of("$lastActiveDay", yesterday)))
+                    .append("then", new Document("$add", List.of("$currentStreak", 1)))))
+            .append("default", 1));
+        AggregationOperation advance = context -> new Document("$set", new Document("currentStreak", currentStreak));
+        AggregationOperation record = context -> new Document("$set", new Document()
+            .append("longestStreak", new Document("$max", List.of("$longestStreak", "$currentStreak")))
+            .append("lastActiveDay", new Document("$max", List.of("$lastActiveDay", today)))
+            .append("version", new Document("$add", List.of(new Document("$ifNull", List.of("$version", 0L)), 1L))));
+
+        try {
+            mongoTemplate.updateFirst(byUser(userId), AggregationUpdate.from(List.of(advance, record)), UserActivityStats.class);
+        } catch (Exception e) {
+            discard(userId, e);
+        }
+    }
+
+    /**
+     * Drop a document that may have missed an update; the next read rebuilds it.
+     */
+    private void discard(String userId, Exception cause) {
+        logger.warn("Could not update stats for user {}, scheduling rebuild: {}", userId, cause.getMessage());
+        try {
+            statsRepository.deleteById(userId);
+        } catch (Exception e) {
+            logger.warn("Could not discard stats for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    private static void addRating(Map<String, Long> deltas, Integer foodNumber, Integer rating, long delta) {
+        if (rating == null) {
+            return;
+        }
+        deltas.merge("ratingCounts." + rating, delta, Long::sum);
+        if (rating >= LIKED_RATING) {
+            deltas.merge("positiveExperiences", delta, Long::sum);
+            if (foodNumber != null) {
+                deltas.merge("likedFoods." + foodNumber, delta, Long::sum);
+            }
+        }
+    }
+
+    static UserStats toUserStats(UserActivityStats stats, LocalDate today) {
+        long total = Math.max(0, stats.getTotalExperiences());
+        long positive = Math.max(0, stats.getPositiveExperiences());
+        double positivePercentage = total > 0 ? (double) positive / total * 100 : 0.0;
+
+        // The stored streak ends at lastActiveDay; it is broken once a full day is missed
+        long streak = 0;
+        if (stats.getLastActiveDay() != null
+                && !LocalDate.parse(stats.getLastActiveDay()).isBefore(today.minusDays(1))) {
+            streak = stats.getCurrentStreak();
+        }
+
+        Map<Integer, Long> ratingHistogram = new TreeMap<>();
+        stats.getRatingCounts().forEach((rating, count) -> {
+            if (count != null && count > 0) {
+                ratingHistogram.put(Integer.valueOf(rating), count);
+            }
+        });
+        List<Integer> likedFoodNumbers = new ArrayList<>();
+        stats.getLikedFoods().forEach((foodNumber, count) -> {
+            if (count != null && count > 0) {
+                likedFoodNumbers.add(Integer.valueOf(foodNumber));
+            }
+        });
+        likedFoodNumbers.sort(null);
+
+        UserStats result = new UserStats(total, positive, positivePercentage, streak, ACHIEVEMENTS);
+        result.setRatingHistogram(ratingHistogram);
+        result.setLikedFoodNumbers(likedFoodNumbers);
+        return result;
+    }
+
+    /**
+     * Length of the run of consecutive days ending at {@code end} (or the day before it).
+     *
+     * @param activeDaysDescending distinct active days, most recent first
+     */
+    static long currentStreak(List<LocalDate> activeDaysDescending, LocalDate end) {
+        LocalDate expected = null;
+        long streak = 0;
+        for (LocalDate day : activeDaysDescending) {
+            if (day.isAfter(end)) {
+                continue; // Clock skew; ignore days in the future
+            }
+            if (expected == null) {
+                if (day.isBefore(end.minusDays(1))) {
+                    return 0;
+                }
+                expected = day;
+            }
+            if (!day.equals(expected)) {
+                break;
+            }
+            streak++;
+            expected = expected.minusDays(1);
+        }
+        return streak;
+    }
+
+    /**
+     * Longest run of consecutive days.
+     *
+     * @param activeDaysDescending distinct active days, most recent first
+     */
+    static long longestStreak(List<LocalDate> activeDaysDescending) {
+        long longest = 0;
+        long run = 0;
+        LocalDate previous = null;
+        for (LocalDate day : activeDaysDescending) {
+            run = previous != null && day.equals(previous.minusDays(1)) ? run + 1 : 1;
+            longest = Math.max(longest, run);
+            previous = day;
+        }
+        return longest;
+    }
+
+    private static Query byUser(String userId) {
+        return Query.query(Criteria.where("_id").is(userId));
+    }
+
+    private static LocalDate day(Instant instant) {
+        return instant.atZone(ZoneOffset.UTC).toLocalDate();
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+
+    private static List<Document> facet(Document facets, String name) {
+        return facets != null ? facets.getList(name, Document.class, List.of()) : List.of();
+    }
+
+    private static Document first(Document facets, String name) {
+        List<Document> results = facet(facets, name);
+        return results.isEmpty() ? null : results.get(0);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.app.catalog;
+
+import com.example.app.catalog.FoodFilterIndex.Facet;
+import com.example.app.models.ClassificationWithCodes;
+import com.example.app.models.FoodClassificationsEmbedded;
+import com.example.app.models.FoodEmbeddedCodes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class FoodFilterIndexTest {
+
+    private FoodFilterIndex index;
+
+    @BeforeEach
+    void setUp() {
+        List<FoodEmbeddedCodes> foods = List.of(
+            food(1, "en", "Boiled potato", "Vegetables", "Solid", "Boiled", "Refrigerated"),
+            food(1, "sv", "Kokt potatis", "Grönsaker", "Solid", "Boiled", "Refrigerated"),
+            food(2, "en", "Frozen peas", "Vegetables", "Solid", "Blanched", "Frozen"),
+            food(3, "en", "Apple juice", "Drinks", "Liquid", "Pasteurized", "Refrigerated"),
+            food(4, "en", "Baked salmon", "Fish", "Solid", "Baked", "Frozen"),
+            food(5, "en", "Raw carrot", "Vegetables", null, null, null)
+        );
+        index = FoodFilterIndex.build(FoodCatalogSnapshot.of(1L, foods));
+    }
+
+    @Test
+    @DisplayName("Should AND different facets and OR values of one facet")
+    void shouldCombineFacets() {
+        FoodFilter filter = new FoodFilter()
+            .include(Facet.PHYSICAL_STATE, "solid")
+            .include(Facet.HEAT_TREATMENT, "Boiled", "Baked");
+
+        assertThat(names(filter)).containsExactly("Boiled potato", "Kokt potatis", "Baked salmon");
+    }
+
+    @Test
+    @DisplayName("Should exclude foods having a negated value")
+    void shouldExcludeNegatedValues() {
+        FoodFilter filter = new FoodFilter()
+            .exclude(Facet.PRESERVATION, "Frozen")
+            .languages("en");
+
+        assertThat(names(filter)).containsExactly("Boiled potato", "Apple juice", "Raw carrot");
+    }
+
+    @Test
+    @DisplayName("Should intersect facets with category and language")
+    void shouldIntersectWithCategoryAndLanguage() {
+        FoodFilter filter = new FoodFilter()
+            .include(Facet.PRESERVATION, "Refrigerated", "Frozen")
+            .categories("Vegetables", "Grönsaker")
+            .languages("sv");
+
+        assertThat(names(filter)).containsExactly("Kokt potatis");
+    }
+
+    @Test
+    @DisplayName("Should match nothing for an unknown facet value")
+    void shouldMatchNothingForUnknownValue() {
+        assertThat(index.match(new FoodFilter().include(Facet.FOOD_SOURCE, "Unicorn")).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should page matches in catalog order")
+    void shouldPageMatches() {
+        FoodFilter filter = new FoodFilter().languages("en");
+
+        assertThat(index.match(filter).cardinality()).isEqualTo(5);
+        assertThat(index.page(index.match(filter), 2, 2))
+            .extracting(FoodEmbeddedCodes::getName)
+            .containsExactly("Apple juice", "Baked salmon");
+        assertThat(index.page(index.match(filter), 4, 10))
+            .extracting(FoodEmbeddedCodes::getName)
+            .containsExactly("Raw carrot");
+    }
+
+    @Test
+    @DisplayName("Should count foods per value, most common first, with display labels")
+    void shouldCountValues() {
+        assertThat(index.categoryCounts()).containsExactly(
+            entry("Vegetables", 3), entry("Drinks", 1), entry("Fish", 1), entry("Grönsaker", 1));
+        assertThat(index.languageCounts()).containsExactly(entry("en", 5), entry("sv", 1));
+        assertThat(index.counts(Facet.PRESERVATION)).containsExactly(entry("Refrigerated", 3), entry("Frozen", 2));
+        assertThat(index.counts(Facet.FOOD_SOURCE)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Every count should equal what filtering on that value matches")
+    void countsShouldAgreeWithFilters() {
+        for (Facet facet : Facet.values()) {
+            index.counts(facet).forEach((value, count) ->
+                assertThat(index.match(new FoodFilter().include(facet, value)).cardinality())
+                    .as("%s=%s", facet, value)
+                    .isEqualTo(count));
+        }
+        index.categoryCounts().forEach((category, count) ->
+            assertThat(index.match(new FoodFilter().categories(category)).cardinality()).isEqualTo(count));
+    }
+
+    private List<String> names(FoodFilter filter) {
+        return index.page(index.match(filter), 0, 100).stream().map(FoodEmbeddedCodes::getName).toList();
+    }
+
+    private static FoodEmbeddedCodes food(int foodNumber, String language, String name, String category,
+                                          String physicalState, String heatTreatment, String preservation) {
+        FoodClassificationsEmbedded classifications = new FoodClassificationsEmbedded();
+        classifications.setPhysicalState(classification(physicalState));
+        classifications.setHeatTreatment(classification(heatTreatment));
+        classifications.setPreservation(classification(preservation));
+
+        FoodEmbeddedCodes food = new FoodEmbeddedCodes();
+        food.setFoodNumber(foodNumber);
+        food.setLanguage(language);
+        food.setName(name);
+        food.setFoodCategory(category);
+        food.setClassifications(classifications);
+        return food;
+    }
+
+    private static ClassificationWithCodes classification(String name) {
+        return name != null ? new ClassificationWithCodes(name, null, null) : null;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.app.catalog;
+
+import com.example.app.models.FoodEmbeddedCodes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class FoodSearchIndexTest {
+
+    private FoodSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        List<FoodEmbeddedCodes> foods = List.of(
+            food(1, "sv", "Nötkött färs", null),
+            food(1, "en", "Beef minced", "Bos taurus"),
+            food(2, "sv", "Kött buljong", null),
+            food(3, "en", "Apple juice", "Malus domestica"),
+            food(4, "en", "Apple", "Malus domestica"),
+            food(5, "en", "Pineapple", "Ananas comosus")
+        );
+        index = FoodSearchIndex.build(FoodCatalogSnapshot.of(1L, foods));
+    }
+
+    @Test
+    @DisplayName("Should fold Swedish diacritics in both query and names")
+    void shouldFoldDiacritics() {
+        assertThat(names(index.search("kott", null, 0, 10).foods()))
+            .containsExactly("Kött buljong", "Nötkött färs");
+        assertThat(names(index.search("KÖTT", null, 0, 10).foods()))
+            .containsExactly("Kött buljong", "Nötkött färs");
+    }
+
+    @Test
+    @DisplayName("Should rank exact matches before prefix and infix matches")
+    void shouldRankExactMatchesFirst() {
+        List<String> names = names(index.search("apple", "en", 0, 10).foods());
+
+        assertThat(names).containsExactly("Apple", "Apple juice", "Pineapple");
+    }
+
+    @Test
+    @DisplayName("Should require every query token and search alternative fields")
+    void shouldMatchAllTokensAcrossFields() {
+        assertThat(names(index.search("apple juice", null, 0, 10).foods())).containsExactly("Apple juice");
+        assertThat(names(index.search("bos", null, 0, 10).foods())).containsExactly("Beef minced");
+        assertThat(index.search("apple banana", null, 0, 10).total()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should paginate ranked results and report the total")
+    void shouldPaginate() {
+        FoodSearchIndex.SearchResult page = index.search("apple", null, 1, 1);
+
+        assertThat(page.total()).isEqualTo(3);
+        assertThat(names(page.foods())).containsExactly("Apple juice");
+        assertThat(index.search("apple", null, 10, 5).foods()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Typeahead should treat the last token as a prefix")
+    void typeaheadShouldUsePrefixes() {
+        assertThat(names(index.typeahead("app", null, 10))).containsExactly("Apple", "Apple juice");
+        assertThat(names(index.typeahead("apple j", null, 10))).containsExactly("Apple juice");
+    }
+
+    @Test
+    @DisplayName("Typeahead should return distinct names up to the limit")
+    void typeaheadShouldDeduplicateNames() {
+        FoodSearchIndex duplicates = FoodSearchIndex.build(FoodCatalogSnapshot.of(1L, List.of(
+            food(1, "en", "Apple", null),
+            food(1, "sv", "Äpple", "Apple"),
+            food(2, "en", "apple", null),
+            food(3, "en", "Apple pie", null),
+            food(4, "en", "Apple juice", null))));
+
+        assertThat(names(duplicates.typeahead("app", null, 2))).containsExactly("Apple", "Apple pie");
+    }
+
+    @Test
+    @DisplayName("Every page of a large result should match the full ranking")
+    void pagesShouldMatchFullRanking() {
+        List<FoodEmbeddedCodes> foods = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            foods.add(food(i, i % 2 == 0 ? "en" : "sv", (i % 3 == 0 ? "Apple" : "Pineapple") + " x".repeat(i % 7), null));
+        }
+        FoodSearchIndex large = FoodSearchIndex.build(FoodCatalogSnapshot.of(1L, foods));
+        List<FoodEmbeddedCodes> all = large.search("apple", "en", 0, 1000).foods();
+
+        assertThat(all).hasSize(150);
+        for (int offset = 0; offset < 160; offset += 7) {
+            FoodSearchIndex.SearchResult page = large.search("apple", "en", offset, 7);
+            assertThat(page.total()).isEqualTo(150);
+            assertThat(page.foods()).containsExactlyElementsOf(all.subList(Math.min(offset, 150), Math.min(offset + 7, 150)));
+        }
+    }
+
+    private static FoodEmbeddedCodes food(int number, String language, String name, String scientificName) {
+        FoodEmbeddedCodes food = new FoodEmbeddedCodes();
+        food.setFoodNumber(number);
+        food.setLanguage(language);
+        food.setName(name);
+        food.setScientificName(scientificName);
+        return food;
+    }
+
+    private static List<String> names(List<FoodEmbeddedCodes> foods) {
+        return foods.stream().map(FoodEmbeddedCodes::getName).toList();
+    }
+}
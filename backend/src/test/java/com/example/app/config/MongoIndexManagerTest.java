@@ -0,0 +1,41 @@
+package com.example.app.config;
+
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MongoIndexManagerTest {
+
+    @Test
+    @DisplayName("Should find a COLLSCAN nested in a classic plan")
+    void shouldDetectNestedCollectionScan() {
+        Document plan = new Document("stage", "SORT")
+            .append("inputStage", new Document("stage", "COLLSCAN").append("direction", "forward"));
+
+        assertThat(MongoIndexManager.containsStage(plan, "COLLSCAN")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should find a COLLSCAN under an OR in a slot-based plan")
+    void shouldDetectCollectionScanInSlotBasedPlan() {
+        Document plan = new Document("queryPlan", new Document("stage", "OR")
+            .append("inputStages", List.of(
+                new Document("stage", "IXSCAN").append("indexName", "userId_rating"),
+                new Document("stage", "COLLSCAN"))));
+
+        assertThat(MongoIndexManager.containsStage(plan, "COLLSCAN")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should accept an index scan plan")
+    void shouldAcceptIndexScan() {
+        Document plan = new Document("stage", "FETCH")
+            .append("inputStage", new Document("stage", "IXSCAN").append("indexName", "language_foodNumber"));
+
+        assertThat(MongoIndexManager.containsStage(plan, "COLLSCAN")).isFalse();
+    }
+}
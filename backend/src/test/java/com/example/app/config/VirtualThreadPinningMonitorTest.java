@@ -0,0 +1,73 @@
+package com.example.app.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(meterRegistry, 10);
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    @DisplayName("Should count a virtual thread blocking inside synchronized")
+    void shouldCountPinnedVirtualThread() throws Exception {
+        monitor.start();
+        Object monitorLock = new Object();
+
+        Thread.ofVirtual().start(() -> {
+            synchronized (monitorLock) {
+                sleep(50);
+            }
+        }).join();
+
+        assertThat(awaitPinnedCount(1)).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not count a virtual thread blocking while holding a ReentrantLock")
+    void shouldNotCountUnmountedVirtualThread() throws Exception {
+        monitor.start();
+        ReentrantLock lock = new ReentrantLock();
+
+        Thread.ofVirtual().start(() -> {
+            lock.lock();
+            try {
+                sleep(50);
+            } finally {
+                lock.unlock();
+            }
+        }).join();
+
+        assertThat(awaitPinnedCount(1)).isZero();
+    }
+
+    // JFR streams events about once a second
+    private double awaitPinnedCount(double expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 3000;
+        double count = 0;
+        while (System.currentTimeMillis() < deadline && count < expected) {
+            Thread.sleep(100);
+            count = meterRegistry.counter("jvm.threads.virtual.pinned").count();
+        }
+        return count;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.example.app.models.Child;
 import com.example.app.models.User;
 import com.example.app.repositories.ChildRepository;
 import com.example.app.repositories.UserRepository;
+import com.example.app.services.ChildService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -21,6 +22,9 @@ import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -36,6 +40,9 @@ class ChildControllerIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ChildService childService;
+
     @LocalServerPort
     private int port;
 
@@ -399,6 +406,52 @@ class ChildControllerIntegrationTest extends BaseIntegrationTest {
         assertThat(nonExistent).isEmpty();
     }
 
+    @Test
+    @DisplayName("Should apply concurrent progress updates atomically")
+    void shouldApplyConcurrentProgressUpdatesAtomically() throws Exception {
+        Child child = childRepository.save(createSampleChild("Busy Child", LocalDate.of(2018, 1, 1), testParent));
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            for (int i = 0; i < 500; i++) {
+                int streak = i % 50;
+                executor.submit(() -> childService.updateFoodsTried(child.getId(), 1));
+                executor.submit(() -> childService.updateStreak(child.getId(), streak));
+            }
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        }
+
+        Child updated = childRepository.findById(child.getId()).orElseThrow();
+        assertThat(updated.getTotalFoodsTried()).isEqualTo(500);
+        assertThat(updated.getLongestStreak()).isEqualTo(49);
+        assertThat(updated.getParent().getId()).isEqualTo(testParent.getId());
+    }
+
+    @Test
+    @DisplayName("Should update food preferences stored as immutable lists")
+    void shouldUpdateImmutableFoodPreferenceLists() {
+        Child child = createSampleChild("Picky Child", LocalDate.of(2018, 1, 1), testParent);
+        child.setLikedFoodIds(List.of("food1"));
+        child.setDislikedFoodIds(List.of("food2"));
+        child = childRepository.save(child);
+
+        Child updated = childService.addLikedFood(child.getId(), "food2");
+        assertThat(updated.getLikedFoodIds()).containsExactly("food1", "food2");
+        assertThat(updated.getDislikedFoodIds()).isEmpty();
+        assertThat(updated.getParent()).isNull(); // Parent is not loaded for progress updates
+
+        updated = childService.addLikedFood(child.getId(), "food2");
+        assertThat(updated.getLikedFoodIds()).containsExactly("food1", "food2");
+
+        updated = childService.removeFoodPreference(child.getId(), "food1");
+        assertThat(updated.getLikedFoodIds()).containsExactly("food2");
+
+        assertThatThrownBy(() -> childService.addLikedFood("missing", "food1"))
+            .hasMessageContaining("Child not found");
+    }
+
     private Child createSampleChild(String name, LocalDate birthDate, User parent) {
         Child child = new Child(name, birthDate, parent);
         child.setTotalFoodsTried(0);
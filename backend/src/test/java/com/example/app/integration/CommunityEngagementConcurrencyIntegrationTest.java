@@ -0,0 +1,136 @@
+package com.example.app.integration;
+
+import com.example.app.BaseIntegrationTest;
+import com.example.app.models.CommunityPost;
+import com.example.app.models.User;
+import com.example.app.repositories.CommunityPostRepository;
+import com.example.app.repositories.UserRepository;
+import com.example.app.services.CommunityService;
+import com.example.app.services.PostLikeBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CommunityEngagementConcurrencyIntegrationTest extends BaseIntegrationTest {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private CommunityService communityService;
+
+    @Autowired
+    private CommunityPostRepository communityPostRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostLikeBuffer postLikeBuffer;
+
+    private CommunityPost post;
+
+    @BeforeEach
+    void setUpPost() {
+        User author = userRepository.save(new User("author@example.com", "Author", "password123", Arrays.asList("USER")));
+        post = communityPostRepository.save(new CommunityPost(author, "A post that goes viral"));
+    }
+
+    @Test
+    @DisplayName("Should not lose any likes under concurrent updates")
+    void shouldCountEveryConcurrentLike() throws Exception {
+        int likes = 2000;
+
+        runConcurrently(likes, () -> communityService.likePost(post.getId()));
+        postLikeBuffer.flush();
+
+        assertThat(communityPostRepository.findById(post.getId()))
+            .get().extracting(CommunityPost::getLikesCount).isEqualTo(likes);
+    }
+
+    @Test
+    @DisplayName("Should apply mixed concurrent engagement updates exactly")
+    void shouldApplyMixedUpdatesExactly() throws Exception {
+        int operations = 3000;
+        AtomicInteger sequence = new AtomicInteger();
+
+        runConcurrently(operations, () -> sequence.getAndIncrement() % 2 == 0
+            ? communityService.incrementComments(post.getId())
+            : communityService.sharePost(post.getId()));
+
+        CommunityPost updated = communityPostRepository.findById(post.getId()).orElseThrow();
+        assertThat(updated.getCommentsCount()).isEqualTo(operations / 2);
+        assertThat(updated.getSharesCount()).isEqualTo(operations / 2);
+    }
+
+    @Test
+    @DisplayName("Should never take the like count below zero")
+    void shouldFloorConcurrentUnlikesAtZero() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            communityService.likePost(post.getId());
+        }
+
+        runConcurrently(1000, () -> communityService.unlikePost(post.getId()));
+        postLikeBuffer.flush();
+
+        assertThat(communityPostRepository.findById(post.getId()))
+            .get().extracting(CommunityPost::getLikesCount).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Should include buffered likes when reading a post")
+    void shouldReadBufferedLikes() {
+        for (int i = 0; i < 10; i++) {
+            communityService.likePost(post.getId());
+        }
+
+        assertThat(communityService.getPostById(post.getId()))
+            .get().extracting(CommunityPost::getLikesCount).isEqualTo(10);
+
+        postLikeBuffer.flush();
+
+        assertThat(postLikeBuffer.pendingDelta(post.getId())).isZero();
+        assertThat(communityPostRepository.findById(post.getId()))
+            .get().extracting(CommunityPost::getLikesCount).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should reject engagement on a missing post")
+    void shouldRejectMissingPost() {
+        assertThatThrownBy(() -> communityService.likePost("missing"))
+            .hasMessageContaining("Post not found");
+    }
+
+    private void runConcurrently(int operations, Callable<CommunityPost> operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<CommunityPost>> results = new ArrayList<>(operations);
+            for (int i = 0; i < operations; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return operation.call();
+                }));
+            }
+            start.countDown();
+            for (Future<CommunityPost> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -1,19 +1,31 @@
 package com.example.app.integration;
 
 import com.example.app.BaseIntegrationTest;
+import com.example.app.catalog.FoodCatalog;
+import com.example.app.config.MongoIndexManager;
+import com.example.app.models.BilingualFood;
+import com.example.app.models.ClassificationWithCodes;
+import com.example.app.models.FoodClassificationsEmbedded;
+import com.example.app.models.FoodFacets;
 import com.example.app.models.Food;
+import com.example.app.models.FoodEmbeddedCodes;
+import com.example.app.repositories.FoodEmbeddedCodesRepository;
 import com.example.app.repositories.FoodRepository;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -29,6 +41,15 @@ class FoodControllerIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private FoodRepository foodRepository;
 
+    @Autowired
+    private FoodEmbeddedCodesRepository foodEmbeddedCodesRepository;
+
+    @Autowired
+    private FoodCatalog foodCatalog;
+
+    @Autowired
+    private MongoIndexManager mongoIndexManager;
+
     @LocalServerPort
     private int port;
 
@@ -327,6 +348,144 @@ class FoodControllerIntegrationTest extends BaseIntegrationTest {
         assertThat(upperCaseResults).hasSize(3);
     }
 
+    @Test
+    @DisplayName("Should stream foods by language as NDJSON in food number order")
+    void shouldStreamFoodsAsNdjson() throws Exception {
+        // Given
+        List<FoodEmbeddedCodes> foods = new ArrayList<>();
+        for (int foodNumber = 250; foodNumber > 0; foodNumber--) {
+            foods.add(createEmbeddedFood(foodNumber, "sv"));
+            foods.add(createEmbeddedFood(foodNumber, "en"));
+        }
+        foodEmbeddedCodesRepository.saveAll(foods);
+
+        // When
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT, "application/x-ndjson");
+        ResponseEntity<String> response = restTemplate.exchange(
+            getBaseUrl() + "/language/sv/stream", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType().toString()).startsWith("application/x-ndjson");
+        String[] lines = response.getBody().split("\n");
+        assertThat(lines).hasSize(250);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("foodNumber").asInt()).isEqualTo(1);
+        assertThat(first.get("language").asText()).isEqualTo("sv");
+        assertThat(first.has("classifications")).isFalse();
+        assertThat(objectMapper.readTree(lines[249]).get("foodNumber").asInt()).isEqualTo(250);
+    }
+
+    @Test
+    @DisplayName("Should stream full food documents as server-sent events")
+    void shouldStreamFoodsAsServerSentEvents() throws Exception {
+        // Given
+        foodEmbeddedCodesRepository.saveAll(List.of(createEmbeddedFood(1, "en"), createEmbeddedFood(2, "en")));
+
+        // When
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT, "text/event-stream");
+        ResponseEntity<String> response = restTemplate.exchange(
+            getBaseUrl() + "/stream?view=full", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType().toString()).startsWith("text/event-stream");
+        String[] events = response.getBody().split("\n\n");
+        assertThat(events).hasSize(2);
+        assertThat(events[0]).startsWith("data: ");
+        assertThat(objectMapper.readTree(events[1].substring("data: ".length())).get("foodNumber").asInt()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should return both language variants of a food in one response")
+    void shouldReturnBilingualFood() {
+        // Given
+        foodEmbeddedCodesRepository.saveAll(List.of(
+            createEmbeddedFood(7, "en"), createEmbeddedFood(7, "sv"), createEmbeddedFood(8, "sv")));
+        foodCatalog.refresh();
+
+        // When
+        ResponseEntity<BilingualFood> both = restTemplate.getForEntity(getBaseUrl() + "/7/bilingual", BilingualFood.class);
+        ResponseEntity<BilingualFood> swedishOnly = restTemplate.getForEntity(getBaseUrl() + "/8/bilingual", BilingualFood.class);
+        ResponseEntity<String> missing = restTemplate.getForEntity(getBaseUrl() + "/9/bilingual", String.class);
+
+        // Then
+        assertThat(both.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(both.getBody().en().getLanguage()).isEqualTo("en");
+        assertThat(both.getBody().sv().getLanguage()).isEqualTo("sv");
+        assertThat(swedishOnly.getBody().en()).isNull();
+        assertThat(swedishOnly.getBody().sv().getFoodNumber()).isEqualTo(8);
+        assertThat(missing.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("Should reject a second document with the same food number and language")
+    void shouldEnforceUniqueFoodNumberAndLanguage() {
+        // Given
+        mongoIndexManager.ensureIndexes();
+        foodEmbeddedCodesRepository.save(createEmbeddedFood(7, "en"));
+        foodEmbeddedCodesRepository.save(createEmbeddedFood(7, "sv"));
+
+        // When / Then
+        assertThatThrownBy(() -> foodEmbeddedCodesRepository.save(createEmbeddedFood(7, "en")))
+            .isInstanceOf(DuplicateKeyException.class);
+        assertThat(foodEmbeddedCodesRepository.findByFoodNumberAndLanguage(7, "sv")).isPresent();
+        assertThat(foodEmbeddedCodesRepository.findByFoodNumber(7)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should count foods per facet value and recompute only for a new catalog version")
+    void shouldReturnFacetCountsPerCatalogVersion() {
+        // Given
+        FoodEmbeddedCodes boiled = createEmbeddedFood(1, "en");
+        boiled.setClassifications(classifications("Potato", "Boiled"));
+        FoodEmbeddedCodes fried = createEmbeddedFood(2, "en");
+        fried.setClassifications(classifications("Potato", "Fried"));
+        FoodEmbeddedCodes unclassified = createEmbeddedFood(3, "sv");
+        unclassified.setFoodCategory("Grönsaker");
+        foodEmbeddedCodesRepository.saveAll(List.of(boiled, fried, unclassified));
+        foodCatalog.refresh();
+
+        // When
+        FoodFacets facets = restTemplate.getForObject(getBaseUrl() + "/facets", FoodFacets.class);
+
+        // Then
+        assertThat(facets.total()).isEqualTo(3);
+        assertThat(facets.foodCategory()).containsExactly(
+            new FoodFacets.FacetCount("Fruit", 2), new FoodFacets.FacetCount("Grönsaker", 1));
+        assertThat(facets.language()).containsExactly(
+            new FoodFacets.FacetCount("en", 2), new FoodFacets.FacetCount("sv", 1));
+        assertThat(facets.foodSource()).containsExactly(new FoodFacets.FacetCount("Potato", 2));
+        assertThat(facets.heatTreatment()).containsExactlyInAnyOrder(
+            new FoodFacets.FacetCount("Boiled", 1), new FoodFacets.FacetCount("Fried", 1));
+
+        // Cached until the catalog is reloaded
+        foodEmbeddedCodesRepository.save(createEmbeddedFood(4, "en"));
+        assertThat(restTemplate.getForObject(getBaseUrl() + "/facets", FoodFacets.class).total()).isEqualTo(3);
+        foodCatalog.refresh();
+        FoodFacets refreshed = restTemplate.getForObject(getBaseUrl() + "/facets", FoodFacets.class);
+        assertThat(refreshed.total()).isEqualTo(4);
+        assertThat(refreshed.catalogVersion()).isGreaterThan(facets.catalogVersion());
+    }
+
+    private static FoodClassificationsEmbedded classifications(String foodSource, String heatTreatment) {
+        FoodClassificationsEmbedded classifications = new FoodClassificationsEmbedded();
+        classifications.setFoodSource(new ClassificationWithCodes(foodSource, "B1234", "B1234"));
+        classifications.setHeatTreatment(new ClassificationWithCodes(heatTreatment, "H0100", "H0100"));
+        return classifications;
+    }
+
+    private FoodEmbeddedCodes createEmbeddedFood(int foodNumber, String language) {
+        FoodEmbeddedCodes food = new FoodEmbeddedCodes();
+        food.setFoodNumber(foodNumber);
+        food.setLanguage(language);
+        food.setName("Food " + foodNumber);
+        food.setFoodCategory("Fruit");
+        return food;
+    }
+
     private Food createSampleFood(String name, String description, List<String> tags, List<String> categories) {
         Food food = new Food(name, description, "https://example.com/image.jpg", tags);
         food.setCategories(categories);
@@ -0,0 +1,82 @@
+package com.example.app.integration;
+
+import com.example.app.BaseIntegrationTest;
+import com.example.app.config.FoodDerivedFieldsBackfill;
+import com.example.app.models.ClassificationWithCodes;
+import com.example.app.models.FoodClassificationsEmbedded;
+import com.example.app.models.FoodEmbeddedCodes;
+import com.example.app.repositories.FoodEmbeddedCodesRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class FoodLangualIdIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private FoodEmbeddedCodesRepository foodRepository;
+
+    @Autowired
+    private FoodDerivedFieldsBackfill backfill;
+
+    @Test
+    @DisplayName("Should store the LanguaL ids of all classifications and find foods by any of them")
+    void shouldFindFoodsByAnyLangualId() {
+        // Given
+        foodRepository.saveAll(List.of(
+            food(1, "A0810", "H0138"),
+            food(2, "A0810", "H0297"),
+            food(3, "B1234", "H0138")));
+
+        // When
+        FoodEmbeddedCodes stored = mongoTemplate.findOne(
+            Query.query(Criteria.where("foodNumber").is(1)), FoodEmbeddedCodes.class);
+
+        // Then
+        assertThat(stored.getAllLangualIds()).containsExactly("A0810", "H0138");
+        assertThat(foodRepository.findByAnyLangualId("A0810"))
+            .extracting(FoodEmbeddedCodes::getFoodNumber).containsExactlyInAnyOrder(1, 2);
+        assertThat(foodRepository.findByAnyLangualId("H0138"))
+            .extracting(FoodEmbeddedCodes::getFoodNumber).containsExactlyInAnyOrder(1, 3);
+        assertThat(foodRepository.findByAnyLangualIdIn(List.of("H0297", "B1234", "Z9999")))
+            .extracting(FoodEmbeddedCodes::getFoodNumber).containsExactlyInAnyOrder(2, 3);
+    }
+
+    @Test
+    @DisplayName("Should backfill allLangualIds on foods imported without it")
+    void shouldBackfillLangualIds() {
+        // Given - written directly, bypassing the save callback
+        mongoTemplate.getCollection("foods_embedded_codes").insertOne(new Document("foodNumber", 7)
+            .append("language", "en")
+            .append("sourceKind", "PLANT")
+            .append("classifications", new Document("foodSource", new Document("name", "Potato").append("langualId", "B1001"))
+                .append("cookingMethod", new Document("name", "Boiled").append("langualId", "G0003"))));
+
+        // When
+        long updated = backfill.backfill();
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        assertThat(foodRepository.findByAnyLangualId("G0003")).extracting(FoodEmbeddedCodes::getFoodNumber).containsExactly(7);
+        assertThat(backfill.backfill()).isZero();
+    }
+
+    private static FoodEmbeddedCodes food(int foodNumber, String foodSourceId, String heatTreatmentId) {
+        FoodClassificationsEmbedded classifications = new FoodClassificationsEmbedded();
+        classifications.setFoodSource(new ClassificationWithCodes("Source " + foodSourceId, foodSourceId, foodSourceId));
+        classifications.setHeatTreatment(new ClassificationWithCodes("Treatment " + heatTreatmentId, heatTreatmentId, heatTreatmentId));
+
+        FoodEmbeddedCodes food = new FoodEmbeddedCodes();
+        food.setFoodNumber(foodNumber);
+        food.setLanguage("en");
+        food.setName("Food " + foodNumber);
+        food.setClassifications(classifications);
+        return food;
+    }
+}
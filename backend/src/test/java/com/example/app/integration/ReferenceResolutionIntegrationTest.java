@@ -0,0 +1,133 @@
+package com.example.app.integration;
+
+import com.example.app.BaseIntegrationTest;
+import com.example.app.models.Child;
+import com.example.app.models.CommunityPost;
+import com.example.app.models.Food;
+import com.example.app.models.FoodExperience;
+import com.example.app.models.User;
+import com.example.app.repositories.ChildRepository;
+import com.example.app.repositories.CommunityPostRepository;
+import com.example.app.repositories.FoodExperienceRepository;
+import com.example.app.repositories.FoodRepository;
+import com.example.app.repositories.UserRepository;
+import com.example.app.services.CommunityService;
+import com.example.app.services.FoodExperienceService;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ReferenceResolutionIntegrationTest extends BaseIntegrationTest {
+
+    private static final AtomicInteger FIND_COMMANDS = new AtomicInteger();
+
+    @TestConfiguration
+    static class CommandCountingConfig {
+        @Bean
+        MongoClientSettingsBuilderCustomizer commandCounter() {
+            CommandListener listener = new CommandListener() {
+                @Override
+                public void commandStarted(CommandStartedEvent event) {
+                    if ("find".equals(event.getCommandName())) {
+                        FIND_COMMANDS.incrementAndGet();
+                    }
+                }
+            };
+            return settings -> settings.addCommandListener(listener);
+        }
+    }
+
+    @Autowired
+    private CommunityService communityService;
+
+    @Autowired
+    private FoodExperienceService foodExperienceService;
+
+    @Autowired
+    private CommunityPostRepository communityPostRepository;
+
+    @Autowired
+    private FoodExperienceRepository foodExperienceRepository;
+
+    @Autowired
+    private ChildRepository childRepository;
+
+    @Autowired
+    private FoodRepository foodRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Should resolve post authors and foods with one query per type, whatever the page size")
+    void shouldResolvePostReferencesInConstantQueries() {
+        List<CommunityPost> posts = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            User author = userRepository.save(new User("author" + i + "@example.com", "Author " + i, "password123", Arrays.asList("USER")));
+            Food food = foodRepository.save(new Food("Food " + i, "Description", null, List.of()));
+            posts.add(new CommunityPost(author, "Post " + i, food, 4));
+        }
+        communityPostRepository.saveAll(posts);
+
+        int smallPage = countFinds(() -> readPosts(10));
+        int largePage = countFinds(() -> readPosts(50));
+
+        assertThat(largePage).isEqualTo(smallPage).isEqualTo(3); // posts + users + foods
+    }
+
+    @Test
+    @DisplayName("Should resolve nested experience references in constant queries")
+    void shouldResolveExperienceReferencesInConstantQueries() {
+        List<FoodExperience> experiences = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            User parent = userRepository.save(new User("parent" + i + "@example.com", "Parent " + i, "password123", Arrays.asList("USER")));
+            Child child = childRepository.save(new Child("Child " + i, LocalDate.of(2018, 1, 1), parent));
+            Food food = foodRepository.save(new Food("Food " + i, "Description", null, List.of()));
+            FoodExperience experience = new FoodExperience(child, food, 5, null);
+            experience.setUserId("user-1");
+            experiences.add(experience);
+        }
+        foodExperienceRepository.saveAll(experiences);
+
+        int finds = countFinds(() -> {
+            List<FoodExperience> result = foodExperienceService.getUserExperiences("user-1");
+            assertThat(result).hasSize(50);
+            result.forEach(experience -> {
+                assertThat(experience.getFood().getName()).startsWith("Food ");
+                assertThat(experience.getChild().getParent().getName()).startsWith("Parent ");
+            });
+        });
+
+        assertThat(finds).isEqualTo(4); // experiences + children + foods + parents
+    }
+
+    private void readPosts(int size) {
+        Page<CommunityPost> page = communityService.getAllPostsForModeration(PageRequest.of(0, size));
+        assertThat(page.getContent()).hasSize(size);
+        page.getContent().forEach(post -> {
+            assertThat(post.getAuthor().getName()).startsWith("Author ");
+            assertThat(post.getRelatedFood().getName()).startsWith("Food ");
+        });
+    }
+
+    private static int countFinds(Runnable action) {
+        FIND_COMMANDS.set(0);
+        action.run();
+        return FIND_COMMANDS.get();
+    }
+}
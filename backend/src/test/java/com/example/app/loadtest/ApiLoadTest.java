@@ -0,0 +1,147 @@
+package com.example.app.loadtest;
+
+import com.example.app.BaseIntegrationTest;
+import com.example.app.catalog.FoodCatalog;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Load test of the food, suggestion and experience APIs against a MongoDB container.
+ *
+ * Excluded from the default build; run with {@code mvn test -Ploadtest}. Settings are
+ * system properties: {@code loadtest.users} (32), {@code loadtest.warmup-seconds} (10),
+ * {@code loadtest.duration-seconds} (30), {@code loadtest.dataset} (JSON array of foods,
+ * synthetic foods otherwise), {@code loadtest.baseline} and {@code loadtest.tolerance} (0.25).
+ * The report is written to {@code target/loadtest/report.json}. When a baseline file exists
+ * the test fails if any endpoint's p99 or throughput regressed beyond the tolerance;
+ * {@code -Dloadtest.update-baseline=true} stores the current report as the new baseline.
+ */
+@Tag("loadtest")
+class ApiLoadTest extends BaseIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiLoadTest.class);
+
+    private static final String[] SEARCH_TERMS = {"äpple", "apple", "kyckling", "chicken", "ris", "pasta", "ost", "lax", "bröd", "banana"};
+    private static final String[] PREFIXES = {"ä", "ap", "ky", "ch", "po", "mo", "la", "br"};
+    private static final int USER_POOL = 200;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private FoodCatalog foodCatalog;
+
+    @Test
+    @DisplayName("Should stay within the baseline latency and throughput under mixed load")
+    void shouldStayWithinBaseline() throws Exception {
+        List<Integer> foodNumbers = LoadTestDataset.seed(mongoTemplate);
+        foodCatalog.refresh();
+        assertThat(foodNumbers).isNotEmpty();
+
+        String base = "http://localhost:" + port + "/api/v1";
+        List<LoadTestHarness.Scenario> scenarios = List.of(
+            new LoadTestHarness.Scenario("foods.search", 25, random ->
+                get(base + "/foods/search?limit=20&name=" + pick(random, SEARCH_TERMS))),
+            new LoadTestHarness.Scenario("foods.typeahead", 20, random ->
+                get(base + "/foods/search?typeahead=true&limit=10&name=" + pick(random, PREFIXES))),
+            new LoadTestHarness.Scenario("foods.byNumber", 15, random ->
+                get(base + "/foods/" + foodNumbers.get(random.nextInt(foodNumbers.size())))),
+            new LoadTestHarness.Scenario("foods.paged", 10, random ->
+                get(base + "/foods/language/sv/paged?size=20&page=" + random.nextInt(20))),
+            new LoadTestHarness.Scenario("suggestions", 10, random ->
+                post(base + "/suggestions", Map.of(
+                    "likedFoodNumbers", List.of(
+                        foodNumbers.get(random.nextInt(foodNumbers.size())),
+                        foodNumbers.get(random.nextInt(foodNumbers.size()))),
+                    "maxSuggestions", 5))),
+            new LoadTestHarness.Scenario("suggestions.popular", 5, random ->
+                get(base + "/suggestions/popular")),
+            new LoadTestHarness.Scenario("experiences.log", 5, random -> {
+                int foodNumber = foodNumbers.get(random.nextInt(foodNumbers.size()));
+                return post(base + "/experiences", Map.of(
+                    "userId", "load-user-" + random.nextInt(USER_POOL),
+                    "foodNumber", foodNumber,
+                    "foodName", "Food " + foodNumber,
+                    "rating", 1 + random.nextInt(5),
+                    "context", "Load test"));
+            }),
+            new LoadTestHarness.Scenario("experiences.byUser", 5, random ->
+                get(base + "/experiences/user/load-user-" + random.nextInt(USER_POOL))),
+            new LoadTestHarness.Scenario("experiences.stats", 5, random ->
+                get(base + "/experiences/user/load-user-" + random.nextInt(USER_POOL) + "/stats"))
+        );
+
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        LoadTestReport report = new LoadTestHarness(client, scenarios).run(
+            Integer.getInteger("loadtest.users", 32),
+            Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 10)),
+            Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 30)));
+        logger.info("Load test results:\n{}", report.toTable());
+
+        Path reportFile = Path.of("target", "loadtest", "report.json");
+        write(report, reportFile);
+
+        Path baselineFile = Path.of(System.getProperty("loadtest.baseline", "src/test/resources/loadtest/baseline.json"));
+        if (Boolean.getBoolean("loadtest.update-baseline")) {
+            write(report, baselineFile);
+            logger.info("Stored load test baseline in {}", baselineFile.toAbsolutePath());
+        }
+
+        assertThat(report.endpoints())
+            .allSatisfy(result -> assertThat(result.errors())
+                .as("errors for %s", result.endpoint())
+                .isZero());
+
+        if (Files.exists(baselineFile) && !Boolean.getBoolean("loadtest.update-baseline")) {
+            LoadTestReport baseline = objectMapper.readValue(baselineFile.toFile(), LoadTestReport.class);
+            double tolerance = Double.parseDouble(System.getProperty("loadtest.tolerance", "0.25"));
+            assertThat(report.regressionsAgainst(baseline, tolerance))
+                .as("regressions against %s", baselineFile)
+                .isEmpty();
+        } else if (!Files.exists(baselineFile)) {
+            logger.info("No load test baseline at {}, skipping comparison", baselineFile.toAbsolutePath());
+        }
+    }
+
+    private HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private HttpRequest post(String url, Object body) {
+        return HttpRequest.newBuilder(URI.create(url))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(asJsonString(body)))
+            .build();
+    }
+
+    private void write(LoadTestReport report, Path file) throws Exception {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    }
+
+    private static String pick(Random random, String[] values) {
+        return URLEncoder.encode(values[random.nextInt(values.length)], StandardCharsets.UTF_8);
+    }
+}
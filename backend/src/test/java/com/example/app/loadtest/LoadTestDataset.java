@@ -0,0 +1,99 @@
+package com.example.app.loadtest;
+
+import com.example.app.models.ClassificationWithCodes;
+import com.example.app.models.FoodClassificationsEmbedded;
+import com.example.app.models.FoodEmbeddedCodes;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds foods_embedded_codes for a load test run.
+ *
+ * With {@code -Dloadtest.dataset=<file>} the collection is loaded from a JSON array of
+ * food documents, e.g. {@code mongoexport --collection=foods_embedded_codes --jsonArray}
+ * of a database ingested from the Livsmedelsverket dataset. Without it, a deterministic
+ * synthetic catalog of {@code loadtest.foods} foods with Swedish and English names is
+ * generated, so runs are comparable on any machine.
+ */
+final class LoadTestDataset {
+
+    static final String COLLECTION = "foods_embedded_codes";
+
+    private static final String[][] NAMES = {
+        {"Äpple", "Apple"}, {"Banan", "Banana"}, {"Morot", "Carrot"}, {"Potatis", "Potato"},
+        {"Nötkött", "Beef"}, {"Fläskkött", "Pork"}, {"Kyckling", "Chicken"}, {"Lax", "Salmon"},
+        {"Ris", "Rice"}, {"Pasta", "Pasta"}, {"Ost", "Cheese"}, {"Yoghurt", "Yogurt"},
+        {"Mjölk", "Milk"}, {"Bröd", "Bread"}, {"Ärtor", "Peas"}, {"Broccoli", "Broccoli"}
+    };
+    private static final String[][] PREPARATIONS = {
+        {"rå", "raw"}, {"kokt", "boiled"}, {"stekt", "fried"}, {"ugnsbakad", "baked"}, {"torkad", "dried"}
+    };
+    private static final String[][] CATEGORIES = {
+        {"Frukt", "Fruit"}, {"Grönsaker", "Vegetables"}, {"Kött", "Meat"}, {"Fisk", "Fish"},
+        {"Spannmål", "Grain products"}, {"Mejeriprodukter", "Dairy products"}
+    };
+    private static final String[] SOURCES = {"Apple", "Banana", "Carrot", "Potato", "Cow", "Pig", "Chicken", "Salmon", "Rice", "Wheat"};
+
+    private LoadTestDataset() {
+    }
+
+    /**
+     * Replace the food collection with the configured dataset. Returns the food numbers seeded.
+     */
+    static List<Integer> seed(MongoTemplate mongoTemplate) throws IOException {
+        mongoTemplate.dropCollection(COLLECTION);
+        String dataset = System.getProperty("loadtest.dataset");
+        if (dataset != null && !dataset.isBlank()) {
+            List<Document> documents = readDocuments(Path.of(dataset));
+            mongoTemplate.getCollection(COLLECTION).insertMany(documents);
+            return mongoTemplate.findDistinct("foodNumber", FoodEmbeddedCodes.class, Integer.class);
+        }
+
+        int size = Integer.getInteger("loadtest.foods", 2000);
+        List<FoodEmbeddedCodes> foods = synthetic(size, 42);
+        mongoTemplate.insert(foods, COLLECTION);
+        return foods.stream().map(FoodEmbeddedCodes::getFoodNumber).distinct().toList();
+    }
+
+    private static List<Document> readDocuments(Path file) throws IOException {
+        String json = Files.readString(file, StandardCharsets.UTF_8);
+        // Parsed as a document so MongoDB extended JSON ($oid, $date) is understood
+        return Document.parse("{\"foods\": " + json + "}").getList("foods", Document.class);
+    }
+
+    /**
+     * One Swedish and one English document per food number.
+     */
+    static List<FoodEmbeddedCodes> synthetic(int size, long seed) {
+        Random random = new Random(seed);
+        List<FoodEmbeddedCodes> foods = new ArrayList<>(size);
+        for (int foodNumber = 1; foods.size() < size; foodNumber++) {
+            String[] name = NAMES[random.nextInt(NAMES.length)];
+            String[] preparation = PREPARATIONS[random.nextInt(PREPARATIONS.length)];
+            String[] category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            FoodClassificationsEmbedded classifications = new FoodClassificationsEmbedded();
+            String langualId = "A0" + (100 + random.nextInt(900));
+            classifications.setFoodSource(new ClassificationWithCodes(SOURCES[random.nextInt(SOURCES.length)], langualId, langualId));
+
+            for (int language = 0; language < 2 && foods.size() < size; language++) {
+                FoodEmbeddedCodes food = new FoodEmbeddedCodes();
+                food.setFoodNumber(foodNumber);
+                food.setLanguage(language == 0 ? "sv" : "en");
+                food.setName(name[language] + " " + preparation[language] + " " + foodNumber);
+                food.setFoodCategory(category[language]);
+                food.setClassifications(classifications);
+                food.refreshDerivedFields();
+                foods.add(food);
+            }
+        }
+        return foods;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.app.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Closed-loop load generator: each virtual user sends one request at a time, picking
+ * the next scenario at random by weight. Latencies after the warmup are recorded per
+ * scenario in HdrHistograms (microsecond resolution, 3 significant digits).
+ */
+final class LoadTestHarness {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    /**
+     * One kind of request in the mix. The request builder gets a per-user random source.
+     */
+    record Scenario(String name, int weight, Function<Random, HttpRequest> request) {}
+
+    private final HttpClient client;
+    private final List<Scenario> scenarios;
+    private final int totalWeight;
+
+    LoadTestHarness(HttpClient client, List<Scenario> scenarios) {
+        this.client = client;
+        this.scenarios = List.copyOf(scenarios);
+        this.totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+    }
+
+    LoadTestReport run(int users, Duration warmup, Duration duration) throws InterruptedException {
+        Map<String, Histogram> latencies = new LinkedHashMap<>();
+        Map<String, LongAdder> errors = new LinkedHashMap<>();
+        for (Scenario scenario : scenarios) {
+            latencies.put(scenario.name(), new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(scenario.name(), new LongAdder());
+        }
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        // One virtual thread per user; they spend their time waiting on the server
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < users; user++) {
+                executor.submit(() -> {
+                    Random random = new Random(ThreadLocalRandom.current().nextLong());
+                    while (System.nanoTime() < end) {
+                        Scenario scenario = pick(random);
+                        long sent = System.nanoTime();
+                        boolean failed;
+                        try {
+                            HttpResponse<Void> response = client.send(scenario.request().apply(random),
+                                HttpResponse.BodyHandlers.discarding());
+                            failed = response.statusCode() >= 400;
+                        } catch (Exception e) {
+                            failed = true;
+                        }
+                        long received = System.nanoTime();
+                        if (sent >= measureFrom) {
+                            latencies.get(scenario.name()).recordValue(
+                                Math.min(TimeUnit.NANOSECONDS.toMicros(received - sent), HIGHEST_TRACKABLE_MICROS));
+                            if (failed) {
+                                errors.get(scenario.name()).increment();
+                            }
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+
+        double seconds = duration.toNanos() / 1e9;
+        List<LoadTestReport.EndpointResult> results = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            results.add(LoadTestReport.EndpointResult.of(scenario.name(), latencies.get(scenario.name()),
+                errors.get(scenario.name()).sum(), seconds));
+        }
+        return new LoadTestReport(users, duration.toSeconds(), results);
+    }
+
+    private Scenario pick(Random random) {
+        int ticket = random.nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            ticket -= scenario.weight();
+            if (ticket < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.app.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Result of a load test run, serialized as JSON for the report and the baseline.
+ * Latencies are in milliseconds, throughput in requests per second.
+ */
+record LoadTestReport(int users, long durationSeconds, List<EndpointResult> endpoints) {
+
+    record EndpointResult(String endpoint, long requests, long errors, double throughput,
+                          double p50, double p99, double p999, double max) {
+
+        static EndpointResult of(String endpoint, Histogram micros, long errors, double seconds) {
+            return new EndpointResult(endpoint, micros.getTotalCount(), errors,
+                micros.getTotalCount() / seconds,
+                millis(micros.getValueAtPercentile(50)),
+                millis(micros.getValueAtPercentile(99)),
+                millis(micros.getValueAtPercentile(99.9)),
+                millis(micros.getMaxValue()));
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+
+    /**
+     * Endpoints that got slower or lost throughput compared to a baseline, beyond the
+     * given relative tolerance. Endpoints missing from either report are not compared.
+     */
+    List<String> regressionsAgainst(LoadTestReport baseline, double tolerance) {
+        Map<String, EndpointResult> previous = baseline.endpoints().stream()
+            .collect(Collectors.toMap(EndpointResult::endpoint, Function.identity()));
+        List<String> regressions = new ArrayList<>();
+        for (EndpointResult current : endpoints) {
+            EndpointResult before = previous.get(current.endpoint());
+            if (before == null) {
+                continue;
+            }
+            if (current.p99() > before.p99() * (1 + tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s p99 %.1f ms > baseline %.1f ms",
+                    current.endpoint(), current.p99(), before.p99()));
+            }
+            if (current.throughput() < before.throughput() * (1 - tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s throughput %.0f req/s < baseline %.0f req/s",
+                    current.endpoint(), current.throughput(), before.throughput()));
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * Human readable table for the test log.
+     */
+    String toTable() {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT,
+            "%-24s %9s %7s %10s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        for (EndpointResult result : endpoints) {
+            table.append(String.format(Locale.ROOT, "%-24s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                result.endpoint(), result.requests(), result.errors(), result.throughput(),
+                result.p50(), result.p99(), result.p999(), result.max()));
+        }
+        return table.toString();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.app.security;
+
+import com.example.app.models.User;
+import com.example.app.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CustomUserDetailsServiceTest {
+
+    private UserRepository userRepository;
+    private CustomUserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        userDetailsService = new CustomUserDetailsService(userRepository, new SimpleMeterRegistry(), 100, 300);
+    }
+
+    @Test
+    @DisplayName("Should load a user once and serve repeated lookups from the cache")
+    void shouldCacheLoadedUsers() {
+        when(userRepository.findByEmail("parent@example.com"))
+            .thenReturn(Optional.of(new User("parent@example.com", "Parent", "hash", List.of("PARENT"))));
+
+        UserDetails first = userDetailsService.loadUserByUsername("parent@example.com");
+        UserDetails second = userDetailsService.loadUserByUsername("parent@example.com");
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getAuthorities()).extracting("authority").containsExactly("ROLE_PARENT");
+        verify(userRepository, times(1)).findByEmail("parent@example.com");
+    }
+
+    @Test
+    @DisplayName("Should read the user again after eviction")
+    void shouldReloadAfterEviction() {
+        when(userRepository.findByEmail("parent@example.com"))
+            .thenReturn(Optional.of(new User("parent@example.com", "Parent", "hash", List.of("PARENT"))))
+            .thenReturn(Optional.of(new User("parent@example.com", "Parent", "hash", List.of("ADMIN"))));
+
+        userDetailsService.loadUserByUsername("parent@example.com");
+        userDetailsService.evict("parent@example.com");
+        UserDetails reloaded = userDetailsService.loadUserByUsername("parent@example.com");
+
+        assertThat(reloaded.getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+        verify(userRepository, times(2)).findByEmail("parent@example.com");
+    }
+
+    @Test
+    @DisplayName("Should not cache unknown users")
+    void shouldNotCacheMisses() {
+        when(userRepository.findByEmail("new@example.com"))
+            .thenReturn(Optional.empty())
+            .thenReturn(Optional.of(new User("new@example.com", "New", "hash", List.of("PARENT"))));
+
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername("new@example.com"))
+            .isInstanceOf(UsernameNotFoundException.class);
+        assertThat(userDetailsService.loadUserByUsername("new@example.com").getUsername()).isEqualTo("new@example.com");
+    }
+}
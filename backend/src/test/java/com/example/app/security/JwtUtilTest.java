@@ -0,0 +1,76 @@
+package com.example.app.security;
+
+import com.example.app.models.User;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+    private UserDetails parent;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = newJwtUtil(900);
+        User user = new User("parent@example.com", "Parent", "hash", List.of("PARENT"));
+        user.setId("user-1");
+        parent = new CustomUserDetailsService.CustomUserPrincipal(user);
+    }
+
+    @Test
+    @DisplayName("Should verify an access token once and return its claims")
+    void shouldParseAccessToken() {
+        String token = jwtUtil.generateAccessToken(parent);
+
+        Claims claims = jwtUtil.parseAccessToken(token).orElseThrow();
+
+        assertThat(claims.getSubject()).isEqualTo("parent@example.com");
+        assertThat(claims.get(JwtUtil.USER_ID_CLAIM)).isEqualTo("user-1");
+        assertThat(claims.get(JwtUtil.ROLES_CLAIM)).isEqualTo(List.of("PARENT"));
+        assertThat(jwtUtil.parseAccessToken(token)).containsSame(claims); // Served from the verified-token cache
+        assertThat(jwtUtil.validateAccessToken(token, parent)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject tampered, foreign and expired tokens")
+    void shouldRejectInvalidTokens() {
+        String token = jwtUtil.generateAccessToken(parent);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        String refresh = jwtUtil.generateRefreshToken(parent);
+        String expired = newJwtUtil(-60).generateAccessToken("parent@example.com", Map.of());
+
+        assertThat(jwtUtil.parseAccessToken(tampered)).isEmpty();
+        assertThat(jwtUtil.parseAccessToken(refresh)).isEmpty();
+        assertThat(jwtUtil.parseAccessToken(expired)).isEmpty();
+        assertThat(jwtUtil.parseAccessToken("not-a-token")).isEmpty();
+        assertThat(jwtUtil.validateRefreshToken(refresh, "parent@example.com")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not validate a token for another user")
+    void shouldRejectOtherUser() {
+        String token = jwtUtil.generateAccessToken("other@example.com", Map.of());
+
+        assertThat(jwtUtil.validateAccessToken(token, parent)).isFalse();
+    }
+
+    private static JwtUtil newJwtUtil(long accessTtlSeconds) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "accessSecret", "test-256-bit-secret-for-access-tokens-make-it-long-enough-for-testing");
+        ReflectionTestUtils.setField(util, "refreshSecret", "test-256-bit-secret-for-refresh-tokens-make-it-different-enough");
+        ReflectionTestUtils.setField(util, "accessTokenTtl", accessTtlSeconds);
+        ReflectionTestUtils.setField(util, "refreshTokenTtl", 604800L);
+        ReflectionTestUtils.setField(util, "verifiedCacheSize", 100L);
+        util.init();
+        return util;
+    }
+}
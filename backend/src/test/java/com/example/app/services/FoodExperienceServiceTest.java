@@ -0,0 +1,104 @@
+package com.example.app.services;
+
+import com.example.app.models.FoodExperience;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FoodExperienceServiceTest {
+
+    private static final String USER = "user-1";
+
+    private MongoTemplate mongoTemplate;
+    private UserStatsService userStatsService;
+    private FoodExperienceService experienceService;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        userStatsService = mock(UserStatsService.class);
+        experienceService = new FoodExperienceService();
+        ReflectionTestUtils.setField(experienceService, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(experienceService, "userStatsService", userStatsService);
+    }
+
+    @Test
+    @DisplayName("Should count a logged experience as created only when the upsert inserted it")
+    void shouldCountCreationWhenUpsertInserted() {
+        FoodExperience logged = experienceService.logExperience(USER, 7, "Apple", 5, "Yum", "lunch");
+
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), any(Update.class), options.capture(), eq(FoodExperience.class));
+        assertThat(options.getValue().isUpsert()).isTrue();
+        assertThat(options.getValue().isReturnNew()).isFalse();
+        assertThat(logged.getId()).isNotNull();
+        verify(userStatsService).onExperienceCreated(USER, 7, 5, logged.getCreatedAt());
+        verify(userStatsService, never()).onRatingChanged(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should change the rating the upsert replaced when the experience existed")
+    void shouldChangeReplacedRatingWhenUpsertMatched() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+            eq(FoodExperience.class))).thenReturn(experience("e1", 2));
+
+        FoodExperience logged = experienceService.logExperience(USER, 7, "Apple", 5, "Yum", "lunch");
+
+        assertThat(logged.getId()).isEqualTo("e1");
+        assertThat(logged.getRating()).isEqualTo(5);
+        verify(userStatsService).onRatingChanged(USER, 7, 2, 5);
+        verify(userStatsService, never()).onExperienceCreated(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should take the previous rating from the document the update replaced")
+    void shouldUpdateFromReplacedRating() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+            eq(FoodExperience.class))).thenReturn(experience("e1", 3));
+
+        FoodExperience updated = experienceService.updateExperience("e1", 1, null);
+
+        assertThat(updated.getRating()).isEqualTo(1);
+        assertThat(updated.getReaction()).isEqualTo("disliked");
+        verify(userStatsService).onRatingChanged(USER, 7, 3, 1);
+    }
+
+    @Test
+    @DisplayName("Should fail to update a missing experience without touching the stats")
+    void shouldRejectUpdateOfMissingExperience() {
+        assertThatThrownBy(() -> experienceService.updateExperience("missing", 4, null))
+            .hasMessageContaining("missing");
+        verifyNoInteractions(userStatsService);
+    }
+
+    @Test
+    @DisplayName("Should update the stats only for the delete that removed the experience")
+    void shouldApplyDeleteOnce() {
+        when(mongoTemplate.findAndRemove(any(Query.class), eq(FoodExperience.class)))
+            .thenReturn(experience("e1", 4), (FoodExperience) null);
+
+        experienceService.deleteExperience("e1");
+        experienceService.deleteExperience("e1");
+
+        verify(userStatsService, times(1)).onExperienceDeleted(USER, 7, 4);
+    }
+
+    private static FoodExperience experience(String id, int rating) {
+        FoodExperience experience = new FoodExperience();
+        experience.setId(id);
+        experience.setUserId(USER);
+        experience.setFoodNumber(7);
+        experience.setRating(rating);
+        return experience;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.app.services;
+
+import com.example.app.catalog.FoodCatalog;
+import com.example.app.catalog.FoodFilter;
+import com.example.app.exceptions.ValidationException;
+import com.example.app.models.FoodBatch;
+import com.example.app.models.FoodEmbeddedCodes;
+import com.example.app.models.FoodSummary;
+import com.example.app.repositories.FoodEmbeddedCodesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FoodServiceBatchTest {
+
+    private FoodEmbeddedCodesRepository foodRepository;
+    private FoodService foodService;
+
+    @BeforeEach
+    void setUp() {
+        foodRepository = mock(FoodEmbeddedCodesRepository.class);
+        when(foodRepository.findAll()).thenReturn(List.of(
+            food(1, "sv", "Äpple"), food(1, "en", "Apple"),
+            food(2, "sv", "Banan"), food(2, "en", "Banana"),
+            food(3, "sv", "Morot")));
+
+        foodService = new FoodService();
+        ReflectionTestUtils.setField(foodService, "foodRepository", foodRepository);
+        ReflectionTestUtils.setField(foodService, "foodCatalog", new FoodCatalog(foodRepository));
+    }
+
+    @Test
+    @DisplayName("Should return foods in request order with misses as null")
+    void shouldReturnFoodsInRequestOrder() {
+        FoodBatch<FoodEmbeddedCodes> batch = foodService.getFoodsByNumbers(Arrays.asList(3, 99, 1, 3), "sv");
+
+        assertThat(batch.foods()).hasSize(4);
+        assertThat(batch.foods().get(0).getName()).isEqualTo("Morot");
+        assertThat(batch.foods().get(1)).isNull();
+        assertThat(batch.foods().get(2).getName()).isEqualTo("Äpple");
+        assertThat(batch.foods().get(3).getName()).isEqualTo("Morot");
+        assertThat(batch.missing()).containsExactly(99);
+    }
+
+    @Test
+    @DisplayName("Should treat a food without the requested language as missing")
+    void shouldReportMissingLanguageVariant() {
+        FoodBatch<FoodSummary> batch = foodService.getFoodSummariesByNumbers(List.of(2, 3), "en");
+
+        assertThat(batch.foods()).extracting(summary -> summary == null ? null : summary.name())
+            .containsExactly("Banana", null);
+        assertThat(batch.missing()).containsExactly(3);
+    }
+
+    @Test
+    @DisplayName("Should serve the batch from the catalog with one load")
+    void shouldServeFromCatalog() {
+        foodService.getFoodsByNumbers(List.of(1, 2), null);
+        foodService.getFoodsByNumbers(List.of(2, 3), null);
+
+        verify(foodRepository, times(1)).findAll();
+        verify(foodRepository, never()).findAllByFoodNumberIn(any());
+    }
+
+    @Test
+    @DisplayName("Should reject empty and oversized batches")
+    void shouldRejectInvalidBatchSizes() {
+        List<Integer> tooMany = Collections.nCopies(FoodService.MAX_BATCH_SIZE + 1, 1);
+
+        assertThatThrownBy(() -> foodService.getFoodsByNumbers(List.of(), "sv"))
+            .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> foodService.getFoodsByNumbers(tooMany, "sv"))
+            .isInstanceOf(ValidationException.class)
+            .hasMessageContaining(String.valueOf(FoodService.MAX_BATCH_SIZE));
+    }
+
+    @Test
+    @DisplayName("Should return an empty filter page for a page number far past the end")
+    void shouldReturnEmptyPageBeyondLastMatch() {
+        Page<FoodEmbeddedCodes> page = foodService.filterFoods(new FoodFilter().languages("sv"),
+            PageRequest.of(20_000_000, 200)); // Offset overflows an int
+
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getNumber()).isEqualTo(20_000_000);
+    }
+
+    private static FoodEmbeddedCodes food(int foodNumber, String language, String name) {
+        FoodEmbeddedCodes food = new FoodEmbeddedCodes();
+        food.setId(foodNumber + "-" + language);
+        food.setFoodNumber(foodNumber);
+        food.setLanguage(language);
+        food.setName(name);
+        return food;
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.app.services;
+
+import com.example.app.catalog.FoodCatalog;
+import com.example.app.catalog.FoodCatalogSnapshot;
+import com.example.app.models.ClassificationWithCodes;
+import com.example.app.models.FoodClassificationsEmbedded;
+import com.example.app.models.FoodEmbeddedCodes;
+import com.example.app.models.FoodSuggestion;
+import com.example.app.repositories.FoodEmbeddedCodesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FoodSuggestionServiceTest {
+
+    private static final String[] CATEGORIES = {"Fruit", "Vegetables", "Dairy products", "Grain products", "Meat", "Cereals", null};
+    private static final String[] SOURCES = {"Cattle", "Swine", "Plant, fruit", "Grain", "Animal and plant", "Fungi", null};
+    private static final String[] NAMES = {"Apple", "Banana", "Pasta", "Rice", "Chicken", "Cheese", "Soup", "Spice mix", "Lentils", "Liver"};
+
+    private FoodCatalogSnapshot catalog;
+    private FoodSuggestionService suggestionService;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        List<FoodEmbeddedCodes> foods = new ArrayList<>();
+        for (int number = 1; number <= 80; number++) {
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            String source = SOURCES[random.nextInt(SOURCES.length)];
+            String name = NAMES[random.nextInt(NAMES.length)] + " " + number;
+            foods.add(food(number, "en", name, category, source));
+            foods.add(food(number, "sv", "Mat " + number, category, source));
+        }
+
+        FoodEmbeddedCodesRepository repository = mock(FoodEmbeddedCodesRepository.class);
+        when(repository.findAll()).thenReturn(foods);
+        FoodCatalog foodCatalog = new FoodCatalog(repository);
+        catalog = foodCatalog.current();
+
+        suggestionService = new FoodSuggestionService();
+        ReflectionTestUtils.setField(suggestionService, "foodCatalog", foodCatalog);
+    }
+
+    @Test
+    @DisplayName("Should match the previous scoring, including the order of tied scores")
+    void shouldMatchPreviousScoring() {
+        Random random = new Random(7);
+        for (int run = 0; run < 50; run++) {
+            List<Integer> liked = new ArrayList<>();
+            for (int i = random.nextInt(5) + 1; i > 0; i--) {
+                liked.add(random.nextInt(90) + 1); // Some numbers are not in the catalog
+            }
+            int maxSuggestions = random.nextInt(20) + 1;
+
+            assertThat(describe(suggestionService.generateSuggestions(liked, maxSuggestions)))
+                .as("liked %s, max %d", liked, maxSuggestions)
+                .containsExactlyElementsOf(describe(PreviousScoring.generate(catalog, liked, maxSuggestions)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep tied candidates in catalog order")
+    void shouldBreakTiesByCatalogOrder() {
+        List<FoodSuggestion> suggestions = suggestionService.generateSuggestions(List.of(1, 2, 3), 80);
+
+        for (int i = 1; i < suggestions.size(); i++) {
+            FoodSuggestion previous = suggestions.get(i - 1);
+            FoodSuggestion current = suggestions.get(i);
+            assertThat(previous.getConfidenceScore()).isGreaterThanOrEqualTo(current.getConfidenceScore());
+            if (previous.getConfidenceScore() == current.getConfidenceScore()) {
+                assertThat(previous.getFoodNumber()).isLessThan(current.getFoodNumber());
+            }
+        }
+        assertThat(suggestions.stream().map(FoodSuggestion::getConfidenceScore).distinct().count())
+            .as("fixture has tied scores")
+            .isLessThan(suggestions.size());
+    }
+
+    @Test
+    @DisplayName("Should match the previous popular suggestions")
+    void shouldMatchPreviousPopularSuggestions() {
+        assertThat(describe(suggestionService.getPopularFoodSuggestions(10)))
+            .containsExactlyElementsOf(describe(PreviousScoring.popular(catalog, 10)));
+    }
+
+    private static List<String> describe(List<FoodSuggestion> suggestions) {
+        return suggestions.stream()
+            .map(s -> s.getFoodNumber() + " " + s.getFoodName() + " " + s.getConfidenceScore() + " "
+                + s.getTags() + " " + s.getReason() + " " + s.getBasedOnFoods())
+            .toList();
+    }
+
+    private static FoodEmbeddedCodes food(int number, String language, String name, String category, String source) {
+        FoodEmbeddedCodes food = new FoodEmbeddedCodes();
+        food.setFoodNumber(number);
+        food.setLanguage(language);
+        food.setName(name);
+        food.setFoodCategory(category);
+        FoodClassificationsEmbedded classifications = new FoodClassificationsEmbedded();
+        if (source != null) {
+            classifications.setFoodSource(new ClassificationWithCodes(source, "B1000", "B1000"));
+        }
+        food.setClassifications(classifications);
+        return food;
+    }
+
+    /**
+     * The string-matching scoring that the feature bitsets replaced, kept as the reference.
+     */
+    private static final class PreviousScoring {
+
+        static List<FoodSuggestion> generate(FoodCatalogSnapshot catalog, List<Integer> likedFoodNumbers, int maxSuggestions) {
+            List<FoodEmbeddedCodes> likedFoods = catalog.getByFoodNumbers(likedFoodNumbers);
+            if (likedFoods.isEmpty()) {
+                return popular(catalog, maxSuggestions);
+            }
+
+            Map<String, Integer> categories = new HashMap<>();
+            Map<String, Integer> sources = new HashMap<>();
+            Set<String> preferredTags = new HashSet<>();
+            for (FoodEmbeddedCodes food : likedFoods) {
+                if (food.getFoodCategory() != null) {
+                    categories.merge(food.getFoodCategory(), 1, Integer::sum);
+                }
+                if (food.isPlantBased()) {
+                    sources.merge("plant", 1, Integer::sum);
+                } else if (food.isAnimalBased()) {
+                    sources.merge("animal", 1, Integer::sum);
+                }
+                preferredTags.addAll(tags(food));
+            }
+
+            return catalog.getByLanguage("en").stream()
+                .filter(food -> !likedFoodNumbers.contains(food.getFoodNumber()))
+                .map(food -> score(food, categories, sources, preferredTags, likedFoods))
+                .filter(suggestion -> suggestion.getConfidenceScore() > 0.3)
+                .sorted((s1, s2) -> Double.compare(s2.getConfidenceScore(), s1.getConfidenceScore()))
+                .limit(maxSuggestions)
+                .toList();
+        }
+
+        static List<FoodSuggestion> popular(FoodCatalogSnapshot catalog, int maxSuggestions) {
+            return catalog.getByLanguage("en").stream()
+                .filter(PreviousScoring::isChildFriendly)
+                .limit(maxSuggestions)
+                .map(food -> new FoodSuggestion(food.getFoodNumber(), food.getName(), food.getImageUrl(), tags(food),
+                    "Popular choice for children - mild flavor and familiar texture", 0.8, new ArrayList<>()))
+                .toList();
+        }
+
+        private static FoodSuggestion score(FoodEmbeddedCodes candidate, Map<String, Integer> categories,
+                                            Map<String, Integer> sources, Set<String> preferredTags,
+                                            List<FoodEmbeddedCodes> likedFoods) {
+            double score = 0.0;
+            List<String> reasons = new ArrayList<>();
+
+            if (candidate.getFoodCategory() != null && categories.containsKey(candidate.getFoodCategory())) {
+                score += 0.4 * (categories.get(candidate.getFoodCategory()) / (double) likedFoods.size());
+                reasons.add("same food category");
+            }
+            if (candidate.isPlantBased() && sources.getOrDefault("plant", 0) > 0) {
+                score += 0.2;
+                reasons.add("plant-based like your other favorites");
+            } else if (candidate.isAnimalBased() && sources.getOrDefault("animal", 0) > 0) {
+                score += 0.2;
+                reasons.add("similar protein source");
+            }
+            List<String> candidateTags = tags(candidate);
+            long matchingTags = candidateTags.stream().filter(preferredTags::contains).count();
+            if (!candidateTags.isEmpty()) {
+                score += 0.3 * (matchingTags / (double) candidateTags.size());
+                if (matchingTags > 0) {
+                    reasons.add("similar texture and taste");
+                }
+            }
+            if (candidate.getFoodCategory() != null && !categories.containsKey(candidate.getFoodCategory())) {
+                score += 0.1;
+                reasons.add("introduces variety to your child's diet");
+            }
+
+            String reason = reasons.isEmpty() ? "Recommended for expanding food preferences" :
+                            "Great choice because it has " + String.join(", ", reasons);
+            return new FoodSuggestion(candidate.getFoodNumber(), candidate.getName(), candidate.getImageUrl(),
+                candidateTags, reason, Math.min(score, 1.0),
+                likedFoods.stream().map(FoodEmbeddedCodes::getFoodNumber).toList());
+        }
+
+        private static List<String> tags(FoodEmbeddedCodes food) {
+            List<String> tags = new ArrayList<>();
+            String category = food.getFoodCategory();
+            if (category != null) {
+                if (category.toLowerCase().contains("fruit")) tags.add("Sweet");
+                if (category.toLowerCase().contains("vegetable")) tags.add("Healthy");
+                if (category.toLowerCase().contains("dairy")) tags.add("Creamy");
+                if (category.toLowerCase().contains("grain")) tags.add("Mild");
+                if (category.toLowerCase().contains("meat")) tags.add("Protein");
+            }
+            if (food.isPlantBased()) tags.add("Plant-based");
+            if (food.isAnimalBased()) tags.add("Protein-rich");
+            if (isChildFriendly(food)) tags.add("Kid-friendly");
+            return tags.stream().distinct().toList();
+        }
+
+        private static boolean isChildFriendly(FoodEmbeddedCodes food) {
+            String name = food.getName().toLowerCase();
+            String category = food.getFoodCategory() != null ? food.getFoodCategory().toLowerCase() : "";
+            return name.contains("apple") || name.contains("banana") || name.contains("pasta") ||
+                   name.contains("rice") || name.contains("chicken") || name.contains("cheese") ||
+                   name.contains("bread") || name.contains("yogurt") || name.contains("milk") ||
+                   category.contains("fruit") || category.contains("dairy") ||
+                   (category.contains("cereal") && !name.contains("spice"));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.app.services;
+
+import com.example.app.models.CommunityPost;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PostLikeBufferTest {
+
+    private MongoTemplate mongoTemplate;
+    private BulkOperations bulk;
+    private PostLikeBuffer buffer;
+
+    // Post id of each update in the current bulk, in the order they were added
+    private final List<String> bulkPostIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CommunityPost.class)).thenAnswer(invocation -> {
+            bulkPostIds.clear();
+            return bulk;
+        });
+        when(bulk.updateOne(any(Query.class), any(UpdateDefinition.class))).thenAnswer(invocation -> {
+            Query query = invocation.getArgument(0);
+            bulkPostIds.add((String) query.getQueryObject().get("_id"));
+            return bulk;
+        });
+        buffer = new PostLikeBuffer(mongoTemplate, true, 1000);
+    }
+
+    @Test
+    @DisplayName("Should put back only the updates a partly failed bulk did not apply")
+    void shouldRetryOnlyFailedUpdates() {
+        like("a", 3);
+        like("b", 2);
+        like("c", 1);
+        when(bulk.execute())
+            .thenAnswer(invocation -> { throw bulkFailure(bulkPostIds.indexOf("b")); })
+            .thenReturn(null);
+
+        buffer.flush();
+
+        assertThat(buffer.pendingDelta("a")).isZero();
+        assertThat(buffer.pendingDelta("b")).isEqualTo(2);
+        assertThat(buffer.pendingDelta("c")).isZero();
+
+        buffer.flush();
+
+        assertThat(bulkPostIds).containsExactly("b");
+        assertThat(buffer.pendingDelta("b")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should put back every delta when the bulk fails without per-update errors")
+    void shouldRetryAllUpdatesOnOtherFailures() {
+        like("a", 3);
+        like("b", -1);
+        when(bulk.execute()).thenThrow(new DataAccessResourceFailureException("no primary"));
+
+        buffer.flush();
+
+        assertThat(buffer.pendingDelta("a")).isEqualTo(3);
+        assertThat(buffer.pendingDelta("b")).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Should put back every delta when the bulk cannot be built")
+    void shouldRetryAllUpdatesWhenBulkCannotBeBuilt() {
+        like("a", 2);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CommunityPost.class))
+            .thenThrow(new DataAccessResourceFailureException("no primary"));
+
+        buffer.flush();
+
+        assertThat(buffer.pendingDelta("a")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep likes added after an idle post was dropped from the buffer")
+    void shouldKeepLikesAfterIdlePostRemoved() {
+        like("a", 1);
+        like("a", -1);
+        buffer.flush(); // Nothing to write; the idle entry is removed
+
+        like("a", 1);
+
+        assertThat(buffer.pendingDelta("a")).isEqualTo(1);
+        buffer.flush();
+        assertThat(bulkPostIds).containsExactly("a");
+        assertThat(buffer.pendingDelta("a")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should count deltas being written as pending until the write returns")
+    void shouldCountInFlightDeltasAsPending() {
+        like("a", 2);
+        Map<String, Long> seenDuringWrite = new HashMap<>();
+        when(bulk.execute()).thenAnswer(invocation -> {
+            like("a", 1); // A like arriving while the flush is writing
+            seenDuringWrite.put("a", buffer.pendingDelta("a"));
+            return null;
+        });
+
+        buffer.flush();
+
+        assertThat(seenDuringWrite).containsEntry("a", 3L);
+        assertThat(buffer.pendingDelta("a")).isEqualTo(1);
+
+        CommunityPost post = new CommunityPost();
+        post.setId("a");
+        post.setLikesCount(10);
+        assertThat(buffer.withPending(post).getLikesCount()).isEqualTo(11);
+    }
+
+    private void like(String postId, int times) {
+        for (int i = 0; i < Math.abs(times); i++) {
+            buffer.add(postId, Integer.signum(times));
+        }
+    }
+
+    private static BulkOperationException bulkFailure(int failedIndex) {
+        BulkWriteError error = new BulkWriteError(50, "operation exceeded time limit", new BsonDocument(), failedIndex);
+        MongoBulkWriteException cause = new MongoBulkWriteException(
+            BulkWriteResult.acknowledged(0, 0, 0, 2, List.of(), List.of()), List.of(error), null,
+            new ServerAddress(), Set.of());
+        return new BulkOperationException(cause.getMessage(), cause);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.app.services;
+
+import com.example.app.models.FoodSuggestion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SuggestionCacheTest {
+
+    private SuggestionCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SuggestionCache(new SimpleMeterRegistry(), 100, 600);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should hit for the same liked set in any order and with duplicates")
+    void shouldHitForPermutedAndDuplicatedLikedSets() {
+        List<FoodSuggestion> first = get(List.of(3, 1, 2), 5, 1L);
+
+        assertThat(get(List.of(1, 2, 3), 5, 1L)).isSameAs(first);
+        assertThat(get(List.of(2, 3, 1, 3, 2), 5, 1L)).isSameAs(first);
+        assertThat(get(Arrays.asList(1, null, 2, 3), 5, 1L)).isSameAs(first);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should miss for a different liked set or count")
+    void shouldMissForDifferentKeys() {
+        get(List.of(1, 2, 3), 5, 1L);
+        get(List.of(1, 2), 5, 1L);
+        get(List.of(1, 2, 3, 4), 5, 1L);
+        get(List.of(1, 2, 3), 6, 1L);
+
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("Should miss after the catalog version changes")
+    void shouldMissAfterCatalogVersionChange() {
+        List<FoodSuggestion> before = get(List.of(1, 2), 5, 1L);
+        List<FoodSuggestion> after = get(List.of(2, 1), 5, 2L);
+
+        assertThat(after).isNotSameAs(before);
+        assertThat(get(List.of(1, 2), 5, 2L)).isSameAs(after);
+        assertThat(loads).hasValue(2);
+    }
+
+    private List<FoodSuggestion> get(List<Integer> likedFoodNumbers, int maxSuggestions, long catalogVersion) {
+        return cache.get(likedFoodNumbers, maxSuggestions, catalogVersion, () -> {
+            int load = loads.incrementAndGet();
+            return List.of(new FoodSuggestion(load, "Food " + load, null, List.of(), "reason", 0.5, likedFoodNumbers));
+        });
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.app.services;
+
+import com.example.app.models.UserActivityStats;
+import com.example.app.repositories.UserActivityStatsRepository;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserStatsRebuildTest {
+
+    private static final String USER = "user-1";
+
+    private MongoTemplate mongoTemplate;
+    private UserActivityStatsRepository statsRepository;
+    private UserStatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        statsRepository = mock(UserActivityStatsRepository.class);
+        statsService = new UserStatsService(mongoTemplate, statsRepository);
+
+        Document facets = new Document("totals", List.of(new Document("total", 2).append("positive", 1)))
+            .append("ratings", List.of(new Document("_id", 5).append("count", 1), new Document("_id", 2).append("count", 1)))
+            .append("liked", List.of(new Document("_id", 7).append("count", 1)))
+            .append("days", List.of(new Document("_id", "2024-03-10")));
+        when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(Document.class)))
+            .thenReturn(new AggregationResults<>(List.of(facets), new Document()));
+    }
+
+    @Test
+    @DisplayName("Should replace the stored stats only if the version read is still current")
+    void shouldReplaceWithVersionGuard() {
+        when(statsRepository.findById(USER)).thenReturn(Optional.of(stored(4)));
+        when(mongoTemplate.replace(any(Query.class), any(UserActivityStats.class))).thenReturn(matched(1));
+
+        UserActivityStats rebuilt = statsService.rebuild(USER);
+
+        ArgumentCaptor<Query> guard = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).replace(guard.capture(), same(rebuilt));
+        assertThat(guard.getValue().getQueryObject()).containsEntry("_id", USER).containsEntry("version", 4L);
+        assertThat(rebuilt.getVersion()).isEqualTo(5);
+        assertThat(rebuilt.getTotalExperiences()).isEqualTo(2);
+        verify(statsRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should aggregate again when an update lands during the rebuild")
+    void shouldRetryWhenVersionChanged() {
+        when(statsRepository.findById(USER)).thenReturn(Optional.of(stored(4)), Optional.of(stored(5)));
+        when(mongoTemplate.replace(any(Query.class), any(UserActivityStats.class))).thenReturn(matched(0), matched(1));
+
+        UserActivityStats rebuilt = statsService.rebuild(USER);
+
+        verify(mongoTemplate, times(2)).aggregate(any(TypedAggregation.class), eq(Document.class));
+        assertThat(rebuilt.getVersion()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should aggregate again when the document is created during the rebuild")
+    void shouldRetryWhenCreatedConcurrently() {
+        when(statsRepository.findById(USER)).thenReturn(Optional.empty(), Optional.of(stored(1)));
+        when(mongoTemplate.insert(any(UserActivityStats.class))).thenThrow(new DuplicateKeyException("duplicate"));
+        when(mongoTemplate.replace(any(Query.class), any(UserActivityStats.class))).thenReturn(matched(1));
+
+        statsService.rebuild(USER);
+
+        verify(mongoTemplate, times(2)).aggregate(any(TypedAggregation.class), eq(Document.class));
+        verify(mongoTemplate).replace(any(Query.class), any(UserActivityStats.class));
+    }
+
+    @Test
+    @DisplayName("Should keep the stored stats when every rebuild attempt conflicts")
+    void shouldGiveUpAfterRepeatedConflicts() {
+        UserActivityStats latest = stored(9);
+        when(statsRepository.findById(USER)).thenReturn(Optional.of(stored(4)), Optional.of(stored(6)),
+            Optional.of(stored(8)), Optional.of(latest));
+        when(mongoTemplate.replace(any(Query.class), any(UserActivityStats.class))).thenReturn(matched(0));
+
+        assertThat(statsService.rebuild(USER)).isSameAs(latest);
+        verify(mongoTemplate, times(3)).aggregate(any(TypedAggregation.class), eq(Document.class));
+    }
+
+    @Test
+    @DisplayName("Should record the active day also when the deltas fell back to a rebuild")
+    void shouldRecordActiveDayAfterFallbackRebuild() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(UserActivityStats.class)))
+            .thenReturn(matched(0));
+        when(statsRepository.findById(USER)).thenReturn(Optional.empty());
+        when(mongoTemplate.insert(any(UserActivityStats.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        statsService.onExperienceCreated(USER, 7, 5, Instant.parse("2024-03-11T08:00:00Z"));
+
+        verify(mongoTemplate).insert(any(UserActivityStats.class));
+        verify(mongoTemplate).updateFirst(any(Query.class), any(AggregationUpdate.class), eq(UserActivityStats.class));
+    }
+
+    @Test
+    @DisplayName("Should increment the version with every delta")
+    void shouldIncrementVersionWithDeltas() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(UserActivityStats.class)))
+            .thenReturn(matched(1));
+
+        statsService.onRatingChanged(USER, 7, 2, 5);
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(UserActivityStats.class));
+        assertThat(update.getValue().getUpdateObject().get("$inc", Document.class)).containsEntry("version", 1);
+        verify(mongoTemplate, never()).aggregate(any(TypedAggregation.class), eq(Document.class));
+    }
+
+    private static UserActivityStats stored(long version) {
+        UserActivityStats stats = new UserActivityStats(USER);
+        stats.setVersion(version);
+        return stats;
+    }
+
+    private static UpdateResult matched(long count) {
+        return UpdateResult.acknowledged(count, count, null);
+    }
+}
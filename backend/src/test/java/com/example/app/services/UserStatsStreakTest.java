@@ -0,0 +1,66 @@
+package com.example.app.services;
+
+import com.example.app.models.UserActivityStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class UserStatsStreakTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 10);
+
+    @Test
+    @DisplayName("Should count consecutive days ending today")
+    void shouldCountStreakEndingToday() {
+        List<LocalDate> days = List.of(TODAY, TODAY.minusDays(1), TODAY.minusDays(2), TODAY.minusDays(4));
+
+        assertThat(UserStatsService.currentStreak(days, TODAY)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should keep the streak alive when nothing is logged yet today")
+    void shouldCountStreakEndingYesterday() {
+        List<LocalDate> days = List.of(TODAY.minusDays(1), TODAY.minusDays(2));
+
+        assertThat(UserStatsService.currentStreak(days, TODAY)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reset the streak after a missed day")
+    void shouldResetAfterGap() {
+        List<LocalDate> days = List.of(TODAY.minusDays(2), TODAY.minusDays(3));
+
+        assertThat(UserStatsService.currentStreak(days, TODAY)).isZero();
+        assertThat(UserStatsService.currentStreak(List.of(), TODAY)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should find the longest run anywhere in the history")
+    void shouldFindLongestStreak() {
+        List<LocalDate> days = List.of(TODAY, TODAY.minusDays(3), TODAY.minusDays(4), TODAY.minusDays(5), TODAY.minusDays(7));
+
+        assertThat(UserStatsService.longestStreak(days)).isEqualTo(3);
+        assertThat(UserStatsService.longestStreak(List.of())).isZero();
+    }
+
+    @Test
+    @DisplayName("Should report a stored streak as broken once a full day is missed")
+    void shouldExpireStoredStreak() {
+        UserActivityStats stats = new UserActivityStats("user");
+        stats.setTotalExperiences(4);
+        stats.setPositiveExperiences(1);
+        stats.setCurrentStreak(3);
+        stats.setLastActiveDay(TODAY.minusDays(1).toString());
+        stats.getLikedFoods().put("12", 1L);
+        stats.getLikedFoods().put("7", 0L);
+
+        assertThat(UserStatsService.toUserStats(stats, TODAY).getStreak()).isEqualTo(3);
+        assertThat(UserStatsService.toUserStats(stats, TODAY.plusDays(1)).getStreak()).isZero();
+        assertThat(UserStatsService.toUserStats(stats, TODAY).getLikedFoodNumbers()).containsExactly(12);
+        assertThat(UserStatsService.toUserStats(stats, TODAY).getPositivePercentage()).isEqualTo(25.0);
+    }
+}